@@ -0,0 +1,19 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+//Entry point of benchmarks.jar: the JMH command line, with the GC profiler always attached so that every
+//result carries its allocation rate and bytes per operation next to the throughput.
+//Usage: java -jar benchmarks.jar [JMH options, e.g. SchedulerBenchmark -p queueCapacity=1000]
+public class BenchmarkRunner {
+
+	public static void main(String[] args) throws Exception {
+		new Runner(new OptionsBuilder()
+			.parent(new CommandLineOptions(args))
+			.addProfiler(GCProfiler.class)
+			.build()).run();
+	}
+}
@@ -0,0 +1,65 @@
+package benchmarks;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+//Cost of a comparison for each ready queue comparator, over as many processes as the ready queue holds.
+//Each invocation makes one comparison per process of the run; the comparisons counter carries the rate.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComparatorBenchmark {
+
+	@Param({"ProcessArrivalTimeComparator", "ProcessArrivalTimePriorityComparator", "ProcessArrivalTimeRemainingBurstTimeComparator"})
+	public String comparator;
+	@Param({"5", "1000", "10000"})
+	public int queueCapacity;
+	@Param({"10000", "100000"})
+	public int processCount;
+	private Comparator<Object> processComparator;
+	private Object[] processes;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Comparisons {
+		public long comparisons;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			comparisons = 0;
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void createProcesses() {
+		processComparator = Simulator.newComparator(comparator);
+		processes = Simulator.newProcesses(Math.min(queueCapacity, processCount));
+	}
+
+	@Benchmark
+	public void compare(Comparisons comparisons, Blackhole blackhole) {
+		int length = processes.length;
+		for (int i = 0; i < processCount; i++) {
+			blackhole.consume(processComparator.compare(processes[i % length], processes[(i * 31 + 7) % length]));
+		}
+		comparisons.comparisons += processCount;
+	}
+}
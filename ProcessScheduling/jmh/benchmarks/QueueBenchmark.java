@@ -0,0 +1,116 @@
+package benchmarks;
+
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+//Enqueue, peek and remove throughput of every job and ready queue implementation. An enqueue or remove
+//invocation streams all processes through the queue in batches of the queue capacity, and the operations
+//counter carries the rate; a peek invocation is a single peek at a queue filled up to its capacity.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueBenchmark {
+
+	@Param({"job-PriorityBlockingQueue", "ready-LinkedBlockingQueue", "ready-PriorityBlockingQueue", "ready-IndexedPriorityQueue", "ready-SortKeyPriorityQueue"})
+	public String queue;
+	@Param({"5", "1000", "10000"})
+	public int queueCapacity;
+	@Param({"10000", "100000"})
+	public int processCount;
+	private Queue<Object> processQueue;
+	private Object[] processes;
+	private int batchSize;
+	private int[] removalOrder; //fixed up front so the queues are compared on the same work
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Operations {
+		public long operations;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			operations = 0;
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class FilledQueue {
+		private Queue<Object> processQueue;
+
+		@Setup(Level.Trial)
+		public void fill(QueueBenchmark queueBenchmark) {
+			processQueue = Simulator.newQueue(queueBenchmark.queue, queueBenchmark.queueCapacity);
+			for (int i = 0; i < queueBenchmark.batchSize; i++) {
+				processQueue.add(queueBenchmark.processes[i]);
+			}
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void createQueue() {
+		processQueue = Simulator.newQueue(queue, queueCapacity);
+		processes = Simulator.newProcesses(processCount);
+		batchSize = Math.min(queueCapacity, processCount);
+		removalOrder = new int[batchSize];
+		Random random = new Random(Simulator.RANDOM_SEED);
+		for (int i = 0; i < batchSize; i++) {
+			removalOrder[i] = i;
+		}
+		for (int i = batchSize - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int swap = removalOrder[i];
+			removalOrder[i] = removalOrder[j];
+			removalOrder[j] = swap;
+		}
+	}
+
+	@Benchmark
+	public void enqueueDequeue(Operations operations, Blackhole blackhole) {
+		for (int offset = 0; offset + batchSize <= processes.length; offset += batchSize) {
+			for (int i = 0; i < batchSize; i++) {
+				processQueue.add(processes[offset + i]);
+			}
+			while (!processQueue.isEmpty()) {
+				blackhole.consume(processQueue.poll());
+			}
+			operations.operations += 2 * batchSize;
+		}
+	}
+
+	@Benchmark
+	public Object peek(FilledQueue filledQueue) {
+		return filledQueue.processQueue.peek();
+	}
+
+	@Benchmark
+	public void remove(Operations operations, Blackhole blackhole) {
+		for (int offset = 0; offset + batchSize <= processes.length; offset += batchSize) {
+			for (int i = 0; i < batchSize; i++) {
+				processQueue.add(processes[offset + i]);
+			}
+			for (int i = 0; i < batchSize; i++) {
+				blackhole.consume(processQueue.remove(processes[offset + removalOrder[i]]));
+			}
+			operations.operations += batchSize;
+		}
+	}
+}
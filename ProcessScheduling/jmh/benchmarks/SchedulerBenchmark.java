@@ -0,0 +1,68 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+//End-to-end simulated ticks per second of each scheduler: every invocation runs a fresh scheduler over the
+//same generated workload until its last process terminates, reports discarded. The ticks counter carries
+//the rate, the primary score counts whole runs.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchedulerBenchmark {
+
+	@Param({"FIRST_COME_FIRST_SERVE", "ROUND_ROBIN", "SHORTEST_REMAINING_TIME_FIRST", "PRIORITY", "MULTILEVEL_FEEDBACK_QUEUE", "COMPLETELY_FAIR"})
+	public String scheduler;
+	@Param({"5", "1000", "10000"})
+	public int queueCapacity;
+	@Param({"10000", "100000"})
+	public int processCount;
+	private Object simulationConfiguration;
+	private Runnable scheduling;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Ticks {
+		public long ticks;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			ticks = 0;
+		}
+	}
+
+	//generated once, outside the measurement
+	@Setup(Level.Trial)
+	public void generateWorkload() {
+		simulationConfiguration = Simulator.newSimulationConfiguration(queueCapacity, processCount, null, null);
+		Simulator.setWorkload(simulationConfiguration);
+	}
+
+	//a run takes milliseconds, so creating its scheduler outside the measurement costs no precision
+	@Setup(Level.Invocation)
+	public void createScheduling() {
+		scheduling = Simulator.newScheduling(scheduler, simulationConfiguration);
+	}
+
+	@Benchmark
+	public void run(Ticks ticks) throws Throwable {
+		scheduling.run();
+		ticks.ticks += Simulator.getCurrentTime(scheduling);
+	}
+}
@@ -0,0 +1,184 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Comparator;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+
+//Handles on the simulator classes for the benchmarks. The simulator lives in the unnamed package, which a
+//named package can not import, and JMH does not accept benchmarks in the unnamed package, so the benchmarks
+//hold the simulator objects through JDK types and reach the rest through the handles below. Lookups happen
+//while a benchmark is set up; the measured code calls through Runnable, Queue, Comparator or a constant handle.
+final class Simulator {
+
+	static final int RANDOM_SEED = 42; //the same workload in every fork, unlike Helper.RANDOM_SEED
+	private static final Class<?> SIMULATION_CONFIGURATION = load("SimulationConfiguration");
+	private static final Class<?> WORKLOAD = load("Workload");
+	private static final Class<?> DISTRIBUTION = load("Distribution");
+	private static final Class<?> SCHEDULING = load("Scheduling");
+	private static final Class<?> SCHEDULER_TYPE_ENUM = load("SchedulerTypeEnum");
+	private static final Class<?> METRICS = load("Metrics");
+	private static final Class<?> PROCESS_CONTROL_BLOCK = load("ProcessControlBlock");
+	private static final Class<?> PROCESS_STATE_ENUM = load("ProcessStateEnum");
+	private static final MethodHandle GENERATE_WORKLOAD = findStatic(WORKLOAD, "generate", MethodType.methodType(WORKLOAD, SIMULATION_CONFIGURATION));
+	private static final MethodHandle GET_CURRENT_TIME = findVirtual(SCHEDULING, "getCurrentTime", MethodType.methodType(long.class));
+	static final int MAX_BURST_TIME = getConstant("MAX_BURST_TIME");
+	static final int MAX_PRIORITY = getConstant("MAX_PRIORITY");
+
+	private Simulator() {
+	}
+
+	//configuration of a run whose job queue holds twice the ready queue; null distributions keep the default batches
+	static Object newSimulationConfiguration(int queueCapacity, int processCount, String arrivalDistribution, String burstDistribution) {
+		try {
+			Object simulationConfiguration = SIMULATION_CONFIGURATION.getConstructor(int.class, int.class, int.class, float.class, int.class, int.class, int.class, long.class)
+				.newInstance(RANDOM_SEED, 2 * queueCapacity, queueCapacity, load("Helper").getField("THRESHOLD_CAPACITY").getFloat(null),
+					MAX_BURST_TIME, MAX_PRIORITY, processCount, load("Helper").getField("QUANTUM").getLong(null));
+			MethodHandle parse = findStatic(DISTRIBUTION, "parse", MethodType.methodType(DISTRIBUTION, String.class));
+			if (arrivalDistribution != null) {
+				SIMULATION_CONFIGURATION.getMethod("setArrivalDistribution", DISTRIBUTION).invoke(simulationConfiguration, parse.invoke(arrivalDistribution));
+			}
+			if (burstDistribution != null) {
+				SIMULATION_CONFIGURATION.getMethod("setBurstDistribution", DISTRIBUTION).invoke(simulationConfiguration, parse.invoke(burstDistribution));
+			}
+			return simulationConfiguration;
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException("Cannot configure the simulation", e);
+		}
+	}
+
+	//generate the workload of the configuration once, so that every run of it replays the same processes
+	static void setWorkload(Object simulationConfiguration) {
+		try {
+			SIMULATION_CONFIGURATION.getMethod("setWorkload", WORKLOAD).invoke(simulationConfiguration, generateWorkload(simulationConfiguration));
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException("Cannot generate the workload", e);
+		}
+	}
+
+	static Object generateWorkload(Object simulationConfiguration) throws Throwable {
+		return GENERATE_WORKLOAD.invoke(simulationConfiguration);
+	}
+
+	//a scheduler that has not run yet, reporting into a DiscardingMetrics
+	static Runnable newScheduling(String schedulerType, Object simulationConfiguration) {
+		try {
+			Object metrics = load("DiscardingMetrics").getConstructor().newInstance();
+			return (Runnable)SCHEDULING.getMethod("createScheduling", SCHEDULER_TYPE_ENUM, METRICS, int.class, SIMULATION_CONFIGURATION)
+				.invoke(null, getEnumConstant(SCHEDULER_TYPE_ENUM, schedulerType), metrics, 0, simulationConfiguration);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Cannot create the " + schedulerType + " scheduler", e);
+		}
+	}
+
+	static long getCurrentTime(Runnable scheduling) throws Throwable {
+		return (long)GET_CURRENT_TIME.invoke(scheduling);
+	}
+
+	//processes with random arrival, burst and priority, the same for the same count
+	static Object[] newProcesses(int processCount) {
+		try {
+			Object newState = getEnumConstant(PROCESS_STATE_ENUM, "NEW");
+			MethodHandle constructor = MethodHandles.publicLookup().findConstructor(PROCESS_CONTROL_BLOCK, MethodType.methodType(void.class, int.class, PROCESS_STATE_ENUM, int.class));
+			MethodHandle setArrivalTime = findVirtual(PROCESS_CONTROL_BLOCK, "setArrivalTime", MethodType.methodType(void.class, long.class));
+			MethodHandle setBurstTime = findVirtual(PROCESS_CONTROL_BLOCK, "setBurstTime", MethodType.methodType(void.class, int.class));
+			MethodHandle setRemainingBurstTime = findVirtual(PROCESS_CONTROL_BLOCK, "setRemainingBurstTime", MethodType.methodType(void.class, int.class));
+			MethodHandle setPriority = findVirtual(PROCESS_CONTROL_BLOCK, "setPriority", MethodType.methodType(void.class, int.class));
+			Random random = new Random(RANDOM_SEED);
+			Object[] processes = new Object[processCount];
+			for (int i = 0; i < processCount; i++) {
+				Object processControlBlock = constructor.invoke(i + 1, newState, 1);
+				int burstTime = 1 + random.nextInt(MAX_BURST_TIME);
+				setArrivalTime.invoke(processControlBlock, (long)random.nextInt(processCount));
+				setBurstTime.invoke(processControlBlock, burstTime);
+				setRemainingBurstTime.invoke(processControlBlock, burstTime);
+				setPriority.invoke(processControlBlock, 1 + random.nextInt(MAX_PRIORITY));
+				processes[i] = processControlBlock;
+			}
+			return processes;
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException("Cannot create the processes", e);
+		}
+	}
+
+	//the job queue ordered by pid, or a ready queue ordered by arrival and remaining burst time
+	@SuppressWarnings("unchecked")
+	static Queue<Object> newQueue(String queue, int queueCapacity) {
+		try {
+			switch (queue) {
+				case "job-PriorityBlockingQueue":
+					return new PriorityBlockingQueue<Object>(queueCapacity, newComparator("ProcessPIdComparator"));
+				case "ready-LinkedBlockingQueue":
+					return new LinkedBlockingQueue<Object>();
+				case "ready-PriorityBlockingQueue":
+					return new PriorityBlockingQueue<Object>(queueCapacity, newComparator("ProcessArrivalTimeRemainingBurstTimeComparator"));
+				case "ready-IndexedPriorityQueue":
+					return (Queue<Object>)load("IndexedPriorityQueue").getConstructor(int.class, Comparator.class)
+						.newInstance(queueCapacity, newComparator("ProcessArrivalTimeRemainingBurstTimeComparator"));
+				case "ready-SortKeyPriorityQueue":
+					return (Queue<Object>)load("SortKeyPriorityQueue").getConstructor(int.class, load("SortKeyComparator"))
+						.newInstance(queueCapacity, newComparator("ProcessArrivalTimeRemainingBurstTimeComparator"));
+				default:
+					throw new IllegalArgumentException("Unknown queue " + queue);
+			}
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Cannot create the " + queue, e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	static Comparator<Object> newComparator(String comparator) {
+		try {
+			return (Comparator<Object>)load(comparator).getConstructor().newInstance();
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Cannot create the " + comparator, e);
+		}
+	}
+
+	private static Class<?> load(String name) {
+		try {
+			return Class.forName(name);
+		} catch (ClassNotFoundException e) {
+			throw new IllegalStateException("Simulator class " + name + " is not on the class path", e);
+		}
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static Object getEnumConstant(Class<?> enumClass, String name) {
+		return Enum.valueOf((Class)enumClass, name);
+	}
+
+	private static int getConstant(String name) {
+		try {
+			return load("Helper").getField(name).getInt(null);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Cannot read Helper." + name, e);
+		}
+	}
+
+	private static MethodHandle findStatic(Class<?> owner, String name, MethodType methodType) {
+		try {
+			return MethodHandles.publicLookup().findStatic(owner, name, methodType);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Cannot find " + owner.getName() + "." + name, e);
+		}
+	}
+
+	private static MethodHandle findVirtual(Class<?> owner, String name, MethodType methodType) {
+		try {
+			return MethodHandles.publicLookup().findVirtual(owner, name, methodType);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Cannot find " + owner.getName() + "." + name, e);
+		}
+	}
+}
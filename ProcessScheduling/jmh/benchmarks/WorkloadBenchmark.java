@@ -0,0 +1,61 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+//Processes generated per second with each arrival and burst distribution. The batch arrivals and uniform
+//bursts are the defaults of a configuration without distributions; the processes counter carries the rate.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkloadBenchmark {
+
+	@Param({"batch", "poisson:0.3"})
+	public String arrival;
+	@Param({"uniform", "pareto:1.5:1.0:10000", "lognormal:1.0:0.75:10000", "bimodal:0.9:uniform:1:3+pareto:1.2:20.0:10000", "empirical:1/40:2/25:3/15:5/10:8/6:20/3:100/1"})
+	public String burst;
+	@Param({"5", "1000", "10000"})
+	public int queueCapacity;
+	@Param({"10000", "100000"})
+	public int processCount;
+	private Object simulationConfiguration;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Processes {
+		public long processes;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			processes = 0;
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void createConfiguration() {
+		simulationConfiguration = Simulator.newSimulationConfiguration(queueCapacity, processCount,
+			arrival.equals("batch") ? null : arrival, burst.equals("uniform") ? null : burst);
+	}
+
+	@Benchmark
+	public Object generate(Processes processes) throws Throwable {
+		processes.processes += processCount;
+		return Simulator.generateWorkload(simulationConfiguration);
+	}
+}
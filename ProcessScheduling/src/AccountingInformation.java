@@ -0,0 +1,125 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+
+//Running totals and latency histograms of the terminated processes, updated as each process reaches TERMINATED
+public class AccountingInformation {
+	
+	private long processCount;
+	private long totalResponseTime;
+	private long totalWaitTime;
+	private long totalTurnAroundTime;
+	private long totalBurstTime;
+	private double totalResponseRatioTime;
+	private double totalPenaltyRate;
+	private LatencyHistogram responseTimeHistogram = new LatencyHistogram();
+	private LatencyHistogram waitTimeHistogram = new LatencyHistogram();
+	private LatencyHistogram turnAroundTimeHistogram = new LatencyHistogram();
+	
+	public void add(ProcessControlBlock processControlBlock) {
+		processCount++;
+		totalResponseTime += processControlBlock.getResponseTime();
+		totalWaitTime += processControlBlock.getWaitTime();
+		totalTurnAroundTime += processControlBlock.getTurnAroundTime();
+		totalBurstTime += processControlBlock.getBurstTime();
+		totalResponseRatioTime += processControlBlock.getResponseRatioTime();
+		totalPenaltyRate += (float)processControlBlock.getTurnAroundTime() / (float)processControlBlock.getBurstTime();
+		responseTimeHistogram.record(processControlBlock.getResponseTime());
+		waitTimeHistogram.record(processControlBlock.getWaitTime());
+		turnAroundTimeHistogram.record(processControlBlock.getTurnAroundTime());
+	}
+	
+	//fold the totals of another accounting into this one
+	public void merge(AccountingInformation accountingInformation) {
+		processCount += accountingInformation.processCount;
+		totalResponseTime += accountingInformation.totalResponseTime;
+		totalWaitTime += accountingInformation.totalWaitTime;
+		totalTurnAroundTime += accountingInformation.totalTurnAroundTime;
+		totalBurstTime += accountingInformation.totalBurstTime;
+		totalResponseRatioTime += accountingInformation.totalResponseRatioTime;
+		totalPenaltyRate += accountingInformation.totalPenaltyRate;
+		responseTimeHistogram.merge(accountingInformation.responseTimeHistogram);
+		waitTimeHistogram.merge(accountingInformation.waitTimeHistogram);
+		turnAroundTimeHistogram.merge(accountingInformation.turnAroundTimeHistogram);
+	}
+	
+	public void clear() {
+		processCount = 0;
+		totalResponseTime = 0;
+		totalWaitTime = 0;
+		totalTurnAroundTime = 0;
+		totalBurstTime = 0;
+		totalResponseRatioTime = 0;
+		totalPenaltyRate = 0;
+		responseTimeHistogram.clear();
+		waitTimeHistogram.clear();
+		turnAroundTimeHistogram.clear();
+	}
+	
+	public void writeCheckpoint(DataOutput output) throws IOException {
+		output.writeLong(processCount);
+		output.writeLong(totalResponseTime);
+		output.writeLong(totalWaitTime);
+		output.writeLong(totalTurnAroundTime);
+		output.writeLong(totalBurstTime);
+		output.writeDouble(totalResponseRatioTime);
+		output.writeDouble(totalPenaltyRate);
+		responseTimeHistogram.writeCheckpoint(output);
+		waitTimeHistogram.writeCheckpoint(output);
+		turnAroundTimeHistogram.writeCheckpoint(output);
+	}
+	
+	public void readCheckpoint(DataInput input) throws IOException {
+		processCount = input.readLong();
+		totalResponseTime = input.readLong();
+		totalWaitTime = input.readLong();
+		totalTurnAroundTime = input.readLong();
+		totalBurstTime = input.readLong();
+		totalResponseRatioTime = input.readDouble();
+		totalPenaltyRate = input.readDouble();
+		responseTimeHistogram.readCheckpoint(input);
+		waitTimeHistogram.readCheckpoint(input);
+		turnAroundTimeHistogram.readCheckpoint(input);
+	}
+	
+	public long getProcessCount() {
+		return processCount;
+	}
+	
+	public long getTotalResponseTime() {
+		return totalResponseTime;
+	}
+	
+	public long getTotalWaitTime() {
+		return totalWaitTime;
+	}
+	
+	public long getTotalTurnAroundTime() {
+		return totalTurnAroundTime;
+	}
+	
+	public long getTotalBurstTime() {
+		return totalBurstTime;
+	}
+	
+	public double getTotalResponseRatioTime() {
+		return totalResponseRatioTime;
+	}
+	
+	public double getTotalPenaltyRate() {
+		return totalPenaltyRate;
+	}
+	
+	public LatencyHistogram getResponseTimeHistogram() {
+		return responseTimeHistogram;
+	}
+	
+	public LatencyHistogram getWaitTimeHistogram() {
+		return waitTimeHistogram;
+	}
+	
+	public LatencyHistogram getTurnAroundTimeHistogram() {
+		return turnAroundTimeHistogram;
+	}
+}
@@ -0,0 +1,85 @@
+import java.lang.management.ManagementFactory;
+
+//Steady state allocation check of the dispatchers: a dispatcher that allocates per simulated tick fails it.
+//Throughput and allocation rates of the schedulers, queues, comparators and workloads are measured by the
+//JMH benchmarks of the jmh source set instead.
+//Usage: java Benchmark allocation [process count], exits with 1 when a dispatcher allocates per tick
+public class Benchmark {
+
+	private static final int WARMUP_ITERATIONS = 3;
+	private static final int MEASUREMENT_ITERATIONS = 5;
+
+	public static void main(String[] args) {
+		if (args.length == 0 || !args[0].equals("allocation")) {
+			System.err.println("Usage: java Benchmark allocation [process count]");
+			System.exit(1);
+		}
+		System.exit(checkSteadyStateAllocation(args.length > 1 ? Integer.parseInt(args[1]) : 100000) ? 0 : 1);
+	}
+
+	//bytes allocated per simulated tick once warmed up, from the difference between a run and one twice as long,
+	//so the pools and buffers that grow to their working size early cancel out; reports are not rendered.
+	//The smallest difference of several pairs is taken, as a late deoptimization may allocate once in any run,
+	//while an allocation per tick shows in every pair
+	private static boolean checkSteadyStateAllocation(int processCount) {
+		SimulationConfiguration simulationConfiguration = createRetiringConfiguration(processCount);
+		SimulationConfiguration doubleSimulationConfiguration = createRetiringConfiguration(2 * processCount);
+		if (getAllocatedBytes() < 0) {
+			System.err.println("The JVM does not count allocated bytes per thread, the allocation can not be checked");
+			return false;
+		}
+		boolean zeroAllocation = true;
+		System.out.println(String.format("%-84s %12s %8s", "Steady state allocation", "bytes/tick", ""));
+		for (SchedulerTypeEnum schedulerTypeEnum : SchedulerTypeEnum.values()) {
+			for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+				runDiscardingReports(schedulerTypeEnum, doubleSimulationConfiguration);
+			}
+			long extraAllocatedBytes = Long.MAX_VALUE;
+			long extraTicks = 1;
+			for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+				long allocatedBytes = getAllocatedBytes();
+				long ticks = runDiscardingReports(schedulerTypeEnum, simulationConfiguration);
+				long singleAllocatedBytes = getAllocatedBytes() - allocatedBytes;
+				allocatedBytes = getAllocatedBytes();
+				long doubleTicks = runDiscardingReports(schedulerTypeEnum, doubleSimulationConfiguration);
+				long doubleAllocatedBytes = getAllocatedBytes() - allocatedBytes;
+				if (doubleAllocatedBytes - singleAllocatedBytes < extraAllocatedBytes) {
+					extraAllocatedBytes = doubleAllocatedBytes - singleAllocatedBytes;
+					extraTicks = Math.max(1, doubleTicks - ticks);
+				}
+			}
+			double bytesPerTick = (double)extraAllocatedBytes / extraTicks;
+			//the ordered set of the fair scheduler allocates a node per insert
+			boolean required = schedulerTypeEnum != SchedulerTypeEnum.COMPLETELY_FAIR;
+			//no tolerance: a run twice as long must allocate exactly as much, any byte more grows with the run
+			boolean allocationFree = extraAllocatedBytes <= 0;
+			zeroAllocation &= allocationFree || !required;
+			System.out.println(String.format("%-84s %12.2f %8s", "dispatcher " + schedulerTypeEnum + " [processes=" + processCount + "]", bytesPerTick,
+				allocationFree ? "ok" : required ? "FAILED" : "allocates"));
+		}
+		return zeroAllocation;
+	}
+
+	private static SimulationConfiguration createRetiringConfiguration(int processCount) {
+		SimulationConfiguration simulationConfiguration = new SimulationConfiguration(Helper.RANDOM_SEED, Helper.JOB_QUEUE_CAPACITY, Helper.READY_QUEUE_CAPACITY, Helper.THRESHOLD_CAPACITY,
+			Helper.MAX_BURST_TIME, Helper.MAX_PRIORITY, processCount, Helper.QUANTUM);
+		simulationConfiguration.setRetireTerminatedProcesses(true);
+		simulationConfiguration.setWorkload(Workload.generate(simulationConfiguration));
+		return simulationConfiguration;
+	}
+
+	private static long runDiscardingReports(SchedulerTypeEnum schedulerTypeEnum, SimulationConfiguration simulationConfiguration) {
+		Scheduling scheduling = Scheduling.createScheduling(schedulerTypeEnum, new DiscardingMetrics(), 0, simulationConfiguration);
+		scheduling.run();
+		return scheduling.currentTime;
+	}
+
+	//bytes allocated by the current thread, -1 when the JVM does not expose the counter
+	private static long getAllocatedBytes() {
+		java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean)threadMXBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return -1;
+	}
+}
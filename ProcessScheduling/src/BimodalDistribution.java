@@ -0,0 +1,29 @@
+import java.util.Random;
+
+//Mix of two distributions, e.g. short interactive bursts with the given probability and long batch
+//bursts otherwise
+public class BimodalDistribution implements Distribution {
+
+	private double probability;
+	private Distribution first;
+	private Distribution second;
+
+	public BimodalDistribution(double probability, Distribution first, Distribution second) {
+		if (!(probability >= 0 && probability <= 1)) {
+			throw new IllegalArgumentException("Probability must be within 0..1: " + probability);
+		}
+		this.probability = probability;
+		this.first = first;
+		this.second = second;
+	}
+
+	@Override
+	public int sample(Random random) {
+		return random.nextDouble() < probability ? first.sample(random) : second.sample(random);
+	}
+
+	@Override
+	public String toString() {
+		return "bimodal:" + probability + ":" + first + "+" + second;
+	}
+}
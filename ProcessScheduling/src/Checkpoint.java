@@ -0,0 +1,395 @@
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+//Periodic snapshot of a single-core simulation that a later run resumes from, bit for bit.
+//The snapshot file holds the configuration, clock, counters, accounting, live processes, queues,
+//last Gantt chart slice and generator position. Terminated processes and all but the last Gantt
+//chart slice never change again, so each checkpoint only appends the ones added since the previous
+//checkpoint to separate ".terminated" and ".gantt" files, and the snapshot covers their lengths.
+//The dispatcher serializes the snapshot into memory; a background thread serializes the terminated
+//processes and writes the files in order, and the new snapshot replaces the old one atomically, so a
+//crash always leaves the last complete checkpoint behind.
+//Usage: java Checkpoint run scheduler checkpointFile [maxProcess]
+//       java Checkpoint resume checkpointFile
+public class Checkpoint implements Closeable {
+
+	public static final int MAGIC = 0x50434B50; //PCKP
+	public static final int VERSION = 6;
+	public static final int RECORD_SIZE = 101;
+	private String path;
+	private long terminatedLength; //bytes of the terminated file covered by the checkpoints so far
+	private long ganttLength; //bytes of the Gantt file covered by the checkpoints so far
+	private long ganttStart; //offset in the Gantt file of the first slice of the Gantt chart
+	private int ganttSlices; //leading slices of the Gantt chart in the Gantt file
+	private int ganttClearCount; //of the Gantt chart when its slices started at ganttStart
+	private FileChannel terminatedChannel;
+	private FileChannel ganttChannel;
+	private ExecutorService writer;
+	private ArrayDeque<Future<Void>> pendingWrites = new ArrayDeque<Future<Void>>();
+
+	public Checkpoint(String path) {
+		this.path = path;
+	}
+
+	//continue the checkpoints of a restored scheduler, whose Gantt chart holds the given slices of the Gantt file
+	Checkpoint(String path, long terminatedLength, long ganttLength, long ganttStart, int ganttSlices) {
+		this.path = path;
+		this.terminatedLength = terminatedLength;
+		this.ganttLength = ganttLength;
+		this.ganttStart = ganttStart;
+		this.ganttSlices = ganttSlices;
+	}
+
+	//serialize what changed in the state of the scheduler and hand it to the writer thread, which
+	//the dispatcher only waits for once Helper.CHECKPOINT_WRITES_IN_FLIGHT checkpoints are queued
+	public void write(Scheduling scheduling) {
+		completePendingWrites(Helper.CHECKPOINT_WRITES_IN_FLIGHT - 1);
+		try {
+			ProcessControlTable processControlTable = scheduling.processControlTable;
+			//terminated processes never change again, the writer thread serializes them
+			final List<ProcessControlBlock> terminatedProcesses = processControlTable.drainTerminatedProcesses();
+			final long terminatedPosition = terminatedLength;
+			terminatedLength += (long)terminatedProcesses.size() * RECORD_SIZE;
+			RollingProcessLog rollingProcessLog = processControlTable.getRollingProcessLog();
+			if (rollingProcessLog != null) {
+				rollingProcessLog.flush();
+			}
+
+			GanttChartQueue ganttChartQueue = scheduling.ganttChartQueue;
+			if (ganttChartQueue.getClearCount() != ganttClearCount) {
+				//the slices started over, they go after the ones of earlier checkpoints
+				ganttClearCount = ganttChartQueue.getClearCount();
+				ganttStart = ganttLength;
+				ganttSlices = 0;
+			}
+			//the last slice may still be extended, it stays in the snapshot
+			int finalSlices = Math.max(ganttSlices, ganttChartQueue.getSize() - 1);
+			final byte[] ganttBytes = ganttChartQueue.getSliceBytes(ganttSlices, finalSlices);
+			final long ganttPosition = ganttLength;
+			ganttLength += ganttBytes.length;
+			ganttSlices = finalSlices;
+
+			ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+			DataOutputStream output = new DataOutputStream(snapshot);
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			output.writeUTF(scheduling.schedulerTypeEnum.name());
+			writeConfiguration(output, scheduling.simulationConfiguration);
+			output.writeLong(rollingProcessLog != null ? rollingProcessLog.getFileSize() : -1);
+			output.writeLong(terminatedLength);
+			output.writeLong(ganttLength);
+			output.writeLong(ganttStart);
+			output.writeInt(ganttSlices);
+			output.writeInt(ganttChartQueue.getSize() - ganttSlices);
+			output.write(ganttChartQueue.getSliceBytes(ganttSlices, ganttChartQueue.getSize()));
+			scheduling.writeCheckpoint(output);
+
+			final byte[] snapshotBytes = snapshot.toByteArray();
+			if (writer == null) {
+				writer = Executors.newSingleThreadExecutor(new ThreadFactory() {
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable, "Checkpoint " + path);
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+			}
+			pendingWrites.add(writer.submit(new Callable<Void>() {
+				public Void call() throws IOException {
+					writeFiles(terminatedPosition, terminatedProcesses, ganttPosition, ganttBytes, snapshotBytes);
+					return null;
+				}
+			}));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			completePendingWrites(0);
+		}
+		finally {
+			if (writer != null) {
+				writer.shutdown();
+			}
+			try {
+				if (terminatedChannel != null) {
+					terminatedChannel.close();
+				}
+			}
+			finally {
+				if (ganttChannel != null) {
+					ganttChannel.close();
+				}
+			}
+		}
+	}
+
+	//the scheduler of the checkpoint, ready to continue where the checkpoint was taken
+	public static Scheduling restore(String path, Metrics metrics, int threadSequence) throws IOException {
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(path), 1 << 16))) {
+			if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+				throw new IOException("Unsupported checkpoint: " + path);
+			}
+			SchedulerTypeEnum schedulerTypeEnum = SchedulerTypeEnum.valueOf(input.readUTF());
+			SimulationConfiguration simulationConfiguration = readConfiguration(input);
+			simulationConfiguration.setCheckpointFile(path);
+			long spillFileSize = input.readLong();
+			long terminatedLength = input.readLong();
+			long ganttLength = input.readLong();
+			long ganttStart = input.readLong();
+			int ganttSlices = input.readInt();
+			//the spill file is reopened where the checkpoint left it instead of being truncated
+			String spillFile = simulationConfiguration.getSpillFile();
+			simulationConfiguration.setSpillFile(null);
+			Scheduling scheduling = Scheduling.createScheduling(schedulerTypeEnum, metrics, threadSequence, simulationConfiguration);
+			simulationConfiguration.setSpillFile(spillFile);
+			if (spillFile != null && spillFileSize >= 0) {
+				scheduling.processControlTable.setRollingProcessLog(new RollingProcessLog(spillFile, simulationConfiguration.getMaxSpillFileSize(), spillFileSize));
+			}
+			readGanttSlices(path + ".gantt", ganttStart, ganttSlices, scheduling.ganttChartQueue);
+			scheduling.ganttChartQueue.readSlices(input, input.readInt());
+			scheduling.readCheckpoint(input, readTerminatedProcesses(path + ".terminated", terminatedLength));
+			scheduling.checkpoint = new Checkpoint(path, terminatedLength, ganttLength, ganttStart, ganttSlices);
+			return scheduling;
+		}
+	}
+
+	static void writeProcessControlBlock(DataOutput output, ProcessControlBlock processControlBlock) throws IOException {
+		ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+		writeProcessControlBlock(record, processControlBlock);
+		output.write(record.array());
+	}
+
+	//the record as DataOutput would write it, without going through a stream a byte at a time
+	static void writeProcessControlBlock(ByteBuffer buffer, ProcessControlBlock processControlBlock) {
+		buffer.putInt(processControlBlock.getPID());
+		buffer.put((byte)processControlBlock.getProcessState().ordinal());
+		buffer.putInt(processControlBlock.getProgramCounter());
+		buffer.putLong(processControlBlock.getArrivalTime());
+		buffer.putLong(processControlBlock.getStartTime());
+		buffer.putInt(processControlBlock.getBurstTime());
+		buffer.putInt(processControlBlock.getRemainingBurstTime());
+		buffer.putLong(processControlBlock.getBurstStartTime());
+		buffer.putLong(processControlBlock.getBurstEndTime());
+		buffer.putLong(processControlBlock.getWaitTime());
+		buffer.putLong(processControlBlock.getResponseTime());
+		buffer.putLong(processControlBlock.getCompletionTime());
+		buffer.putLong(processControlBlock.getTurnAroundTime());
+		buffer.putFloat(processControlBlock.getResponseRatioTime());
+		buffer.putInt(processControlBlock.getPriority());
+		buffer.putInt(processControlBlock.getQueueLevel());
+		buffer.putLong(processControlBlock.getVirtualRuntime());
+	}
+
+	static ProcessControlBlock readProcessControlBlock(DataInput input) throws IOException {
+		int pid = input.readInt();
+		ProcessStateEnum processState = ProcessStateEnum.values()[input.readByte()];
+		ProcessControlBlock processControlBlock = new ProcessControlBlock(pid, processState, input.readInt());
+		processControlBlock.setArrivalTime(input.readLong());
+		processControlBlock.setStartTime(input.readLong());
+		processControlBlock.setBurstTime(input.readInt());
+		processControlBlock.setRemainingBurstTime(input.readInt());
+		processControlBlock.setBurstStartTime(input.readLong());
+		processControlBlock.setBurstEndTime(input.readLong());
+		processControlBlock.setWaitTime(input.readLong());
+		processControlBlock.setResponseTime(input.readLong());
+		processControlBlock.setCompletionTime(input.readLong());
+		processControlBlock.setTurnAroundTime(input.readLong());
+		processControlBlock.setResponseRatioTime(input.readFloat());
+		processControlBlock.setPriority(input.readInt());
+		processControlBlock.setQueueLevel(input.readInt());
+		processControlBlock.setVirtualRuntime(input.readLong());
+		return processControlBlock;
+	}
+
+	private void writeFiles(long terminatedPosition, List<ProcessControlBlock> terminatedProcesses, long ganttPosition, byte[] ganttBytes, byte[] snapshotBytes) throws IOException {
+		if (terminatedChannel == null) {
+			terminatedChannel = openAppendFile(path + ".terminated", terminatedPosition);
+			ganttChannel = openAppendFile(path + ".gantt", ganttPosition);
+		}
+		ByteBuffer terminated = ByteBuffer.allocate(terminatedProcesses.size() * RECORD_SIZE);
+		for (int i = 0; i < terminatedProcesses.size(); i++) {
+			writeProcessControlBlock(terminated, terminatedProcesses.get(i));
+		}
+		append(terminatedChannel, terminatedPosition, terminated.array());
+		append(ganttChannel, ganttPosition, ganttBytes);
+
+		Path snapshotPath = Paths.get(path);
+		Path temporaryPath = Paths.get(path + ".tmp");
+		try (FileChannel snapshotChannel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = ByteBuffer.wrap(snapshotBytes);
+			while (buffer.hasRemaining()) {
+				snapshotChannel.write(buffer);
+			}
+			snapshotChannel.force(false);
+		}
+		Files.move(temporaryPath, snapshotPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	//an append-only file of the checkpoints, without whatever a run that did not reach the next checkpoint appended
+	private static FileChannel openAppendFile(String appendPath, long length) throws IOException {
+		FileChannel channel = FileChannel.open(Paths.get(appendPath), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+		channel.truncate(length);
+		return channel;
+	}
+
+	private static void append(FileChannel channel, long position, byte[] bytes) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		while (buffer.hasRemaining()) {
+			channel.write(buffer, position + buffer.position());
+		}
+		channel.force(false);
+	}
+
+	//wait until at most the given number of checkpoints are left to the writer, failing on the first that could not be written
+	private void completePendingWrites(int maxPendingWrites) {
+		while (!pendingWrites.isEmpty() && (pendingWrites.size() > maxPendingWrites || pendingWrites.peek().isDone())) {
+			try {
+				pendingWrites.poll().get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while writing checkpoint " + path, e);
+			} catch (ExecutionException e) {
+				throw new UncheckedIOException(new IOException("Cannot write checkpoint " + path, e.getCause()));
+			}
+		}
+	}
+
+	private static List<ProcessControlBlock> readTerminatedProcesses(String terminatedPath, long terminatedLength) throws IOException {
+		List<ProcessControlBlock> terminatedProcesses = new ArrayList<ProcessControlBlock>();
+		if (terminatedLength == 0) {
+			return terminatedProcesses;
+		}
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(terminatedPath), 1 << 16))) {
+			for (long i = 0; i < terminatedLength / RECORD_SIZE; i++) {
+				terminatedProcesses.add(readProcessControlBlock(input));
+			}
+		}
+		return terminatedProcesses;
+	}
+
+	private static void readGanttSlices(String ganttPath, long ganttStart, int ganttSlices, GanttChartQueue ganttChartQueue) throws IOException {
+		if (ganttSlices == 0) {
+			return;
+		}
+		try (FileInputStream fileInput = new FileInputStream(ganttPath)) {
+			fileInput.getChannel().position(ganttStart);
+			ganttChartQueue.readSlices(new DataInputStream(new BufferedInputStream(fileInput, 1 << 16)), ganttSlices);
+		}
+	}
+
+	private static void writeConfiguration(DataOutput output, SimulationConfiguration simulationConfiguration) throws IOException {
+		output.writeInt(simulationConfiguration.getRandomSeed());
+		output.writeInt(simulationConfiguration.getJobQueueCapacity());
+		output.writeInt(simulationConfiguration.getReadyQueueCapacity());
+		output.writeFloat(simulationConfiguration.getThresholdCapacity());
+		output.writeInt(simulationConfiguration.getMaxBurstTime());
+		output.writeInt(simulationConfiguration.getMaxPriority());
+		output.writeInt(simulationConfiguration.getMaxProcess());
+		output.writeLong(simulationConfiguration.getQuantum());
+		writeString(output, simulationConfiguration.getTraceFile());
+		output.writeBoolean(simulationConfiguration.isRetireTerminatedProcesses());
+		output.writeBoolean(simulationConfiguration.isEventDriven());
+		writeString(output, simulationConfiguration.getSpillFile());
+		output.writeLong(simulationConfiguration.getMaxSpillFileSize());
+		output.writeInt(simulationConfiguration.getFeedbackQueueLevels());
+		output.writeInt(simulationConfiguration.getPriorityBoostInterval());
+		output.writeInt(simulationConfiguration.getTargetLatency());
+		output.writeInt(simulationConfiguration.getMinGranularity());
+		output.writeInt(simulationConfiguration.getCheckpointInterval());
+		output.writeInt(simulationConfiguration.getSamplingInterval());
+		output.writeInt(simulationConfiguration.getSampleCapacity());
+		writeString(output, simulationConfiguration.getTimeSeriesFile());
+		//distributions by their spec, a bounded workload is regenerated from them on resume
+		writeString(output, simulationConfiguration.getArrivalDistribution() == null ? null : simulationConfiguration.getArrivalDistribution().toString());
+		writeString(output, simulationConfiguration.getBurstDistribution() == null ? null : simulationConfiguration.getBurstDistribution().toString());
+	}
+
+	private static SimulationConfiguration readConfiguration(DataInput input) throws IOException {
+		SimulationConfiguration simulationConfiguration = new SimulationConfiguration(input.readInt(), input.readInt(), input.readInt(), input.readFloat(),
+			input.readInt(), input.readInt(), input.readInt(), input.readLong());
+		simulationConfiguration.setTraceFile(readString(input));
+		simulationConfiguration.setRetireTerminatedProcesses(input.readBoolean());
+		simulationConfiguration.setEventDriven(input.readBoolean());
+		simulationConfiguration.setSpillFile(readString(input));
+		simulationConfiguration.setMaxSpillFileSize(input.readLong());
+		simulationConfiguration.setFeedbackQueueLevels(input.readInt());
+		simulationConfiguration.setPriorityBoostInterval(input.readInt());
+		simulationConfiguration.setTargetLatency(input.readInt());
+		simulationConfiguration.setMinGranularity(input.readInt());
+		simulationConfiguration.setCheckpointInterval(input.readInt());
+		simulationConfiguration.setSamplingInterval(input.readInt());
+		simulationConfiguration.setSampleCapacity(input.readInt());
+		simulationConfiguration.setTimeSeriesFile(readString(input));
+		String arrivalDistribution = readString(input);
+		simulationConfiguration.setArrivalDistribution(arrivalDistribution == null ? null : Distribution.parse(arrivalDistribution));
+		String burstDistribution = readString(input);
+		simulationConfiguration.setBurstDistribution(burstDistribution == null ? null : Distribution.parse(burstDistribution));
+		return simulationConfiguration;
+	}
+
+	private static void writeString(DataOutput output, String value) throws IOException {
+		output.writeBoolean(value != null);
+		if (value != null) {
+			output.writeUTF(value);
+		}
+	}
+
+	private static String readString(DataInput input) throws IOException {
+		return input.readBoolean() ? input.readUTF() : null;
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		Metrics metrics = new Metrics(1);
+		Scheduling scheduling;
+		if (args.length >= 3 && args[0].equals("run")) {
+			SimulationConfiguration simulationConfiguration = new SimulationConfiguration();
+			if (args.length > 3) {
+				simulationConfiguration = new SimulationConfiguration(Helper.RANDOM_SEED, Helper.JOB_QUEUE_CAPACITY, Helper.READY_QUEUE_CAPACITY, Helper.THRESHOLD_CAPACITY,
+					Helper.MAX_BURST_TIME, Helper.MAX_PRIORITY, Integer.parseInt(args[3]), Helper.QUANTUM);
+			}
+			simulationConfiguration.setCheckpointFile(args[2]);
+			scheduling = Scheduling.createScheduling(SchedulerTypeEnum.valueOf(args[1]), metrics, 0, simulationConfiguration);
+		}
+		else if (args.length == 2 && args[0].equals("resume")) {
+			scheduling = restore(args[1], metrics, 0);
+		}
+		else {
+			System.err.println("Usage: java Checkpoint run scheduler checkpointFile [maxProcess]");
+			System.err.println("       java Checkpoint resume checkpointFile");
+			System.exit(1);
+			return;
+		}
+		Thread thread = new Thread(scheduling);
+		thread.start();
+		metrics.report();
+		thread.join();
+	}
+}
@@ -0,0 +1,93 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+//Completely fair scheduler: always runs the process with the smallest virtual runtime. Virtual runtime
+//grows more slowly for processes of higher priority, and the timeslice is the target latency shared by
+//weight among the runnable processes, but never shorter than the minimum granularity.
+public class CompletelyFairScheduling extends CoreScheduling {
+
+	private VirtualRuntimeQueue virtualRuntimeQueue;
+
+	public CompletelyFairScheduling(Metrics metrics, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {
+		this(metrics, threadSequence, schedulerTypeEnum, new SimulationConfiguration());
+	}
+
+	public CompletelyFairScheduling(Metrics metrics, int threadSequence, SchedulerTypeEnum schedulerTypeEnum, SimulationConfiguration simulationConfiguration) {
+		this(new VirtualRuntimeQueue(), metrics, threadSequence, schedulerTypeEnum, simulationConfiguration);
+	}
+
+	private CompletelyFairScheduling(VirtualRuntimeQueue virtualRuntimeQueue, Metrics metrics, int threadSequence, SchedulerTypeEnum schedulerTypeEnum, SimulationConfiguration simulationConfiguration) {
+		super(new ReadyQueue(virtualRuntimeQueue, simulationConfiguration), metrics, threadSequence, schedulerTypeEnum, simulationConfiguration);
+		this.virtualRuntimeQueue = virtualRuntimeQueue;
+	}
+
+	@Override
+	protected void writeSchedulerState(DataOutput output) throws IOException {
+		output.writeLong(virtualRuntimeQueue.getMinVirtualRuntime());
+	}
+
+	@Override
+	protected void readSchedulerState(DataInput input) throws IOException {
+		virtualRuntimeQueue.setMinVirtualRuntime(input.readLong());
+	}
+
+	@Override
+	protected ProcessControlBlock runCPUScheduler() {
+		//the leftmost process preempts the running process once it has fallen behind
+		ProcessControlBlock processControlBlock = readyQueue.peek();
+		ProcessControlBlock currentRunningProcess = processControlTable.getRunningProcessControlBlock();
+		if (processControlBlock != null && processControlBlock.getArrivalTime() <= currentTime
+				&& (currentRunningProcess == null || processControlBlock.getVirtualRuntime() < currentRunningProcess.getVirtualRuntime())) {
+			return processControlBlock;
+		}
+		return null;
+	}
+
+	@Override
+	protected void runDispatcher(ProcessControlBlock scheduledProcess) {
+		//context switch if there is already executing process and new process is scheduled to run
+		ProcessControlBlock currentRunningProcess = processControlTable.getRunningProcessControlBlock();
+		if (currentRunningProcess != null && scheduledProcess != null) {
+			//set the state of the process
+			currentRunningProcess.setProcessState(ProcessStateEnum.READY);
+			//put it back to the ready queue
+			readyQueue.enqueue(currentRunningProcess);
+			//context switched
+			contextSwitchCount++;
+
+			setUpRunningProcess(scheduledProcess);
+		}
+		else if (currentRunningProcess != null && scheduledProcess == null) {
+			//continue executing the current process
+			scheduledProcess = currentRunningProcess;
+		}
+		else if (currentRunningProcess == null && scheduledProcess != null) {
+			setUpRunningProcess(scheduledProcess);
+		}
+
+		if (scheduledProcess != null) {
+			//start executing the scheduled process for its share of the target latency
+			int remainingBurstTime = scheduledProcess.getRemainingBurstTime();
+			int weight = VirtualRuntimeQueue.getWeight(scheduledProcess.getPriority());
+			long timeslice = Math.max(simulationConfiguration.getMinGranularity(),
+				simulationConfiguration.getTargetLatency() * weight / (virtualRuntimeQueue.getTotalWeight() + weight));
+			int runtime = (int)Math.min(remainingBurstTime, timeslice);
+			currentTime += runtime - 1;
+			remainingBurstTime -= runtime;
+			scheduledProcess.setVirtualRuntime(scheduledProcess.getVirtualRuntime() + VirtualRuntimeQueue.getVirtualRuntime(runtime, weight));
+			if (remainingBurstTime == 0) {
+				scheduledProcess.setCompletionTime(currentTime);
+				scheduledProcess.setTurnAroundTime(currentTime - scheduledProcess.getArrivalTime() + 1);
+				scheduledProcess.setWaitTime(scheduledProcess.getTurnAroundTime() - scheduledProcess.getBurstTime());
+				scheduledProcess.setResponseRatioTime((float)scheduledProcess.getBurstTime() / (float)scheduledProcess.getTurnAroundTime());
+				//set the state of the process to terminated
+				scheduledProcess.setProcessState(ProcessStateEnum.TERMINATED);
+			}
+			scheduledProcess.setRemainingBurstTime(remainingBurstTime);
+			scheduledProcess.setBurstEndTime(currentTime);
+			ganttChartQueue.record(scheduledProcess.getPID(), scheduledProcess.getBurstStartTime(), scheduledProcess.getBurstEndTime());
+		}
+		currentTime++;
+	}
+}
@@ -0,0 +1,133 @@
+//Scheduler of a single CPU: each policy picks the next process and dispatches it on its own clock.
+//Hosts of several cores, such as MultiCoreScheduling, drive these one dispatcher step at a time.
+public abstract class CoreScheduling extends Scheduling {
+
+	protected boolean hostedOnMultipleCores; //the job queue is shared with sibling cores, which steal from the ready queue
+
+	public CoreScheduling(ReadyQueue readyQueue, Metrics metrics, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {
+		super(readyQueue, metrics, threadSequence, schedulerTypeEnum);
+	}
+
+	public CoreScheduling(ReadyQueue readyQueue, Metrics metrics, int threadSequence, SchedulerTypeEnum schedulerTypeEnum, SimulationConfiguration simulationConfiguration) {
+		super(readyQueue, metrics, threadSequence, schedulerTypeEnum, simulationConfiguration);
+	}
+
+	protected abstract ProcessControlBlock runCPUScheduler();
+	
+	protected abstract void runDispatcher(ProcessControlBlock selectedProcess);	
+		
+	@Override
+	protected void simulate() {
+		if (!restored) {
+			//this would generate new processes and populate job queue
+			processGenerator.populateJobQueue(jobQueue, currentTime);
+		}
+		while(true) {								
+			takeCheckpoint();
+			//run job scheduler to populate ready queue
+			runJobScheduler();		
+			while(!readyQueue.isEmpty() || processControlTable.getRunningProcessControlBlock() != null) {				
+				int executedBurstTime = runDispatcherStep(phaseProfiler);
+				long phaseStartTime = phaseProfiler.start();
+				if (timeSeriesSampler != null) {
+					recordTimeSeries(executedBurstTime);
+				}
+				schedulingMonitor.publish(this);
+				phaseProfiler.stop(PhaseProfiler.METRICS, phaseStartTime);
+				//run job scheduler when ready queue falls below threshold
+				if (readyQueue.isBelowThresholdCapacity()) {					
+					runJobScheduler();
+				}
+			}
+			
+//			metrics.displayCurrentEvent(processControlTable, currentTime, threadSequence, schedulerTypeEnum);
+//			metrics.displayReadyQueue(readyQueue, threadSequence, schedulerTypeEnum);
+//			metrics.displayGanttChartQueue(ganttChartQueue, threadSequence, schedulerTypeEnum);
+			long phaseStartTime = phaseProfiler.start();
+			metrics.displayAccountingInformation(processControlTable, contextSwitchCount, currentTime, threadSequence, schedulerTypeEnum);
+			phaseProfiler.stop(PhaseProfiler.METRICS, phaseStartTime);
+//			metrics.displayProcessControlTable(processControlTable, threadSequence, schedulerTypeEnum);
+			if (simulationConfiguration.isRetireTerminatedProcesses()) {
+				//the slices of retired processes are not kept either
+				ganttChartQueue.clear();
+			}
+							
+			if (!processGenerator.hasMoreProcesses()) {
+				break;
+			}
+			currentTime++;
+			if (simulationConfiguration.isEventDriven()) {
+				//skip the idle time until the next arrival
+				currentTime = Math.max(currentTime, processGenerator.getNextArrivalTime());
+			}
+			
+			//this would generate new processes and populate job queue
+			processGenerator.populateJobQueue(jobQueue, currentTime);
+//			try {
+//				Thread.sleep(2000);
+//			} catch (InterruptedException e) {
+//				// TODO Auto-generated catch block
+//				e.printStackTrace();
+//			}
+		}
+	}
+		
+	//run the CPU scheduler and the dispatcher once, timed into the given profiler, and return the burst units executed
+	protected int runDispatcherStep(PhaseProfiler phaseProfiler) {
+		long phaseStartTime = phaseProfiler.start();
+		ProcessControlBlock scheduledProcess = runCPUScheduler();
+		phaseStartTime = phaseProfiler.stop(PhaseProfiler.CPU_SCHEDULER, phaseStartTime);
+		ProcessControlBlock executingProcess = scheduledProcess != null ? scheduledProcess : processControlTable.getRunningProcessControlBlock();
+		int remainingBurstTime = executingProcess != null ? executingProcess.getRemainingBurstTime() : 0;
+		long dispatchTime = currentTime;
+		int previousContextSwitchCount = contextSwitchCount;
+		runDispatcher(scheduledProcess);
+		phaseProfiler.stop(PhaseProfiler.DISPATCHER, phaseStartTime);
+		if (PhaseProfiler.isEnabled()) {
+			if (scheduledProcess != null) {
+				SchedulingEvents.dispatch(schedulerTypeEnum, scheduledProcess.getPID(), dispatchTime);
+				if (contextSwitchCount != previousContextSwitchCount) {
+					SchedulingEvents.contextSwitch(schedulerTypeEnum, scheduledProcess.getPID(), dispatchTime);
+				}
+			}
+			if (executingProcess != null && executingProcess.getProcessState() == ProcessStateEnum.TERMINATED) {
+				SchedulingEvents.termination(schedulerTypeEnum, executingProcess.getPID(), executingProcess.getCompletionTime());
+			}
+		}
+		return executingProcess != null ? remainingBurstTime - executingProcess.getRemainingBurstTime() : 0;
+	}
+	
+	//true when running the job scheduler now would not admit any process
+	protected boolean isJobSchedulerIdle() {
+		return !readyQueue.isBelowThresholdCapacity() || jobQueue.isEmpty();
+	}
+	
+	//true when no queued process could run before the running burst completes, so the clock may jump to
+	//its completion: a queued process that has not arrived yet could preempt once it does, and an idle
+	//sibling core would take the processes of a core of a multi-core host at its own, earlier clock
+	protected boolean canJumpToCompletion() {
+		if (hostedOnMultipleCores) {
+			return jobQueue.isEmpty() && readyQueue.isEmpty();
+		}
+		return isJobSchedulerIdle() && processGenerator.getLastReleasedArrivalTime() <= currentTime;
+	}
+	
+	protected void setUpRunningProcess(ProcessControlBlock scheduledProcess) {
+		//set the start time once
+		if (scheduledProcess.getBurstTime() == scheduledProcess.getRemainingBurstTime()) {
+			scheduledProcess.setStartTime(currentTime);
+		}
+		scheduledProcess.setBurstStartTime(currentTime);		
+		//remove the selected process from the ready queue
+		readyQueue.remove(scheduledProcess);		
+		//set the state of the selected process to running
+		scheduledProcess.setProcessState(ProcessStateEnum.RUNNING);
+		if (scheduledProcess.getResponseTime() <= 0) { //amount of time it takes from when a request was submitted until the first response is produced.
+			scheduledProcess.setResponseTime(currentTime - scheduledProcess.getArrivalTime());
+		}
+		
+//		metrics.displayCurrentEvent(processControlTable, currentTime, threadSequence, schedulerTypeEnum);
+//		metrics.displayReadyQueue(readyQueue, threadSequence, schedulerTypeEnum);
+//		metrics.displayGanttChartQueue(ganttChartQueue, threadSequence, schedulerTypeEnum);
+	}
+}
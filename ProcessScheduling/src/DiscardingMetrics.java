@@ -0,0 +1,41 @@
+//Metrics of a run that nothing reports on, e.g. a benchmark or a sweep that only reads the final
+//accounting from the scheduler: every report is dropped instead of published, so the scheduler never
+//waits on a full report buffer that no reporter drains.
+public class DiscardingMetrics extends Metrics {
+
+	public DiscardingMetrics() {
+		super(1);
+	}
+
+	@Override
+	public void displayAccountingInformation(ProcessControlTable processControlTable, int contextSwitchCount, long currentTime, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {
+	}
+
+	@Override
+	public void displayAccountingInformation(AccountingInformation accountingInformation, int contextSwitchCount, long currentTime, long[] coreBusyTimes, int[] coreMigrationCounts, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {
+	}
+
+	@Override
+	public void displayPhaseTimes(PhaseProfiler phaseProfiler, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {
+	}
+
+	@Override
+	public void displayProcessControlTable(ProcessControlTable processControlTable, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {
+	}
+
+	@Override
+	public void displayCurrentEvent(ProcessControlTable processControlTable, long currentTime, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {
+	}
+
+	@Override
+	public void displayGanttChartQueue(GanttChartQueue ganttChartQueue, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {
+	}
+
+	@Override
+	public void displayReadyQueue(ReadyQueue readyQueue, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {
+	}
+
+	@Override
+	public void close(int threadSequence) {
+	}
+}
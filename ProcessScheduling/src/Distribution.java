@@ -0,0 +1,47 @@
+import java.util.Random;
+
+//Distribution of a whole number of time units, e.g. the burst time of a process or the gap before the
+//next arrival. Samples are drawn from the generator's Random, so a workload stays reproducible from its
+//seed. A distribution is written as a spec, which parse reads back:
+//  uniform:min:max, exponential:mean, poisson:rate, pareto:shape:scale:max, lognormal:mu:sigma:max,
+//  empirical:value/weight:value/weight:..., bimodal:probability:first+second
+public interface Distribution {
+
+	public int sample(Random random);
+
+	public String toString(); //the spec of the distribution
+
+	public static Distribution parse(String spec) {
+		String[] tokens = spec.split(":");
+		switch (tokens[0]) {
+		case "uniform":
+			return new UniformDistribution(Integer.parseInt(tokens[1]), Integer.parseInt(tokens[2]));
+		case "exponential":
+			return new ExponentialDistribution(Double.parseDouble(tokens[1]));
+		case "poisson":
+			return ExponentialDistribution.poisson(Double.parseDouble(tokens[1]));
+		case "pareto":
+			return new ParetoDistribution(Double.parseDouble(tokens[1]), Double.parseDouble(tokens[2]), Integer.parseInt(tokens[3]));
+		case "lognormal":
+			return new LogNormalDistribution(Double.parseDouble(tokens[1]), Double.parseDouble(tokens[2]), Integer.parseInt(tokens[3]));
+		case "empirical":
+			int[] values = new int[tokens.length - 1];
+			double[] weights = new double[tokens.length - 1];
+			for (int i = 1; i < tokens.length; i++) {
+				int separator = tokens[i].indexOf('/');
+				values[i - 1] = Integer.parseInt(tokens[i].substring(0, separator));
+				weights[i - 1] = Double.parseDouble(tokens[i].substring(separator + 1));
+			}
+			return new EmpiricalDistribution(values, weights);
+		case "bimodal":
+			String components = spec.substring(spec.indexOf(':', "bimodal:".length()) + 1);
+			int separator = components.indexOf('+');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Expected bimodal:probability:first+second but was: " + spec);
+			}
+			return new BimodalDistribution(Double.parseDouble(tokens[1]), parse(components.substring(0, separator)), parse(components.substring(separator + 1)));
+		default:
+			throw new IllegalArgumentException("Unknown distribution: " + spec);
+		}
+	}
+}
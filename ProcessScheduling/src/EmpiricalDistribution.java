@@ -0,0 +1,82 @@
+import java.util.Random;
+
+//Table of values with relative weights, e.g. a histogram of measured burst times, sampled in constant
+//time with Vose's alias method: every column holds the probability of its own value and the value
+//that fills it up, so a sample is one column and one coin flip, both from a single random double.
+public class EmpiricalDistribution implements Distribution {
+
+	private int[] values;
+	private double[] weights;
+	private double[] probabilities; //of the column's own value, scaled to a column width of 1
+	private int[] aliases; //value filling up the rest of the column
+
+	public EmpiricalDistribution(int[] values, double[] weights) {
+		int size = values.length;
+		if (size == 0 || weights.length != size) {
+			throw new IllegalArgumentException("Expected a weight for each of at least one value");
+		}
+		double totalWeight = 0;
+		for (double weight : weights) {
+			if (!(weight >= 0)) {
+				throw new IllegalArgumentException("Weights must not be negative: " + weight);
+			}
+			totalWeight += weight;
+		}
+		if (!(totalWeight > 0)) {
+			throw new IllegalArgumentException("Weights must not all be 0");
+		}
+		this.values = values.clone();
+		this.weights = weights.clone();
+		this.probabilities = new double[size];
+		this.aliases = new int[size];
+		//split the columns into those under and those over the average, then fill each small column from a large one
+		int[] small = new int[size];
+		int[] large = new int[size];
+		int smallCount = 0;
+		int largeCount = 0;
+		for (int i = 0; i < size; i++) {
+			probabilities[i] = weights[i] * size / totalWeight;
+			if (probabilities[i] < 1) {
+				small[smallCount++] = i;
+			}
+			else {
+				large[largeCount++] = i;
+			}
+		}
+		while (smallCount > 0 && largeCount > 0) {
+			int column = small[--smallCount];
+			int filler = large[--largeCount];
+			aliases[column] = filler;
+			probabilities[filler] -= 1 - probabilities[column];
+			if (probabilities[filler] < 1) {
+				small[smallCount++] = filler;
+			}
+			else {
+				large[largeCount++] = filler;
+			}
+		}
+		//what is left is full up to rounding
+		while (largeCount > 0) {
+			probabilities[large[--largeCount]] = 1;
+		}
+		while (smallCount > 0) {
+			probabilities[small[--smallCount]] = 1;
+		}
+	}
+
+	@Override
+	public int sample(Random random) {
+		double u = random.nextDouble() * probabilities.length;
+		int column = (int)u;
+		return u - column < probabilities[column] ? values[column] : values[aliases[column]];
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder spec = new StringBuilder("empirical");
+		for (int i = 0; i < values.length; i++) {
+			spec.append(':').append(values[i]).append('/').append(weights[i]);
+		}
+		return spec.toString();
+	}
+}
@@ -0,0 +1,55 @@
+import java.util.Random;
+
+//Exponential with the given mean, rounded down to whole time units. As the gap between arrivals this is
+//a Poisson process in discrete time: the rounded gaps are geometric, so arrivals are memoryless from one
+//time unit to the next, and gaps of 0 let several processes arrive at once. Being memoryless, the gaps
+//are sampled from an alias table of the values below a cut, and a sample in the tail past the cut is
+//the cut plus another sample.
+public class ExponentialDistribution implements Distribution {
+
+	private static final double TAIL_PROBABILITY = 1.0 / 1024; //at most, of a sample going past the cut
+	private double mean;
+	private String spec;
+	private int cut;
+	private EmpiricalDistribution table; //values 0..cut - 1, and cut for the tail
+
+	public ExponentialDistribution(double mean) {
+		if (!(mean > 0)) {
+			throw new IllegalArgumentException("Mean must be positive: " + mean);
+		}
+		this.mean = mean;
+		this.spec = "exponential:" + mean;
+		this.cut = (int)Math.max(1, Math.min(Helper.MAX_TABULATED_VALUE, Math.ceil(-mean * Math.log(TAIL_PROBABILITY))));
+		int[] values = new int[cut + 1];
+		double[] weights = new double[cut + 1];
+		for (int k = 0; k <= cut; k++) {
+			values[k] = k;
+			//probability of a sample of at least k, less that of one of at least k + 1
+			weights[k] = Math.exp(-k / mean) - (k == cut ? 0 : Math.exp(-(k + 1) / mean));
+		}
+		this.table = new EmpiricalDistribution(values, weights);
+	}
+
+	//gaps of Poisson arrivals at the given rate per time unit: rounded down, exponential gaps of mean
+	//1 / ln(1 + rate) are geometric of mean 1 / rate
+	public static ExponentialDistribution poisson(double rate) {
+		ExponentialDistribution exponentialDistribution = new ExponentialDistribution(1.0 / Math.log1p(rate));
+		exponentialDistribution.spec = "poisson:" + rate;
+		return exponentialDistribution;
+	}
+
+	@Override
+	public int sample(Random random) {
+		int value = 0;
+		int sample;
+		while ((sample = table.sample(random)) == cut && value < Integer.MAX_VALUE - cut) {
+			value += cut;
+		}
+		return value + sample;
+	}
+
+	@Override
+	public String toString() {
+		return spec;
+	}
+}
@@ -1,9 +1,11 @@
-import java.util.concurrent.PriorityBlockingQueue;
-
-public class FirstComeFirstServeScheduling extends Scheduling {	
+public class FirstComeFirstServeScheduling extends CoreScheduling {	
 	
 	public FirstComeFirstServeScheduling(Metrics metrics, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {		
-		super(new ReadyQueue(new PriorityBlockingQueue<ProcessControlBlock>(Helper.READY_QUEUE_CAPACITY, new ProcessArrivalTimeComparator())), metrics, threadSequence, schedulerTypeEnum);
+		this(metrics, threadSequence, schedulerTypeEnum, new SimulationConfiguration());
+	}
+	
+	public FirstComeFirstServeScheduling(Metrics metrics, int threadSequence, SchedulerTypeEnum schedulerTypeEnum, SimulationConfiguration simulationConfiguration) {		
+		super(new ReadyQueue(createReadyPriorityQueue(new ProcessArrivalTimeComparator(), simulationConfiguration), simulationConfiguration), metrics, threadSequence, schedulerTypeEnum, simulationConfiguration);
 	}		
 	
 	@Override
@@ -31,7 +33,7 @@ public class FirstComeFirstServeScheduling extends Scheduling {
 			scheduledProcess.setResponseRatioTime((float)scheduledProcess.getBurstTime() / (float)scheduledProcess.getTurnAroundTime());							
 			//set the state of the process to terminated
 			scheduledProcess.setProcessState(ProcessStateEnum.TERMINATED);
-			ganttChartQueue.enqueue(new ProcessControlBlock(scheduledProcess.getPID(), scheduledProcess.getBurstStartTime(), scheduledProcess.getBurstEndTime()));			
+			ganttChartQueue.record(scheduledProcess.getPID(), scheduledProcess.getBurstStartTime(), scheduledProcess.getBurstEndTime());			
 		}
 		currentTime++;
 	}
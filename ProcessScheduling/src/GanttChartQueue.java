@@ -1,43 +1,123 @@
-import java.util.Iterator;
-import java.util.Queue;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
-//Implement Job Queue using Linked List
-public class GanttChartQueue extends ProcessQueue {
+//Implement Gantt Chart as packed (pid, burst start time, burst end time) longs in a growable buffer;
+//consecutive slices of the same process are merged into one, also when they overlap
+public class GanttChartQueue {
+	
+	private static final int SLICE_SIZE = 3;
+	private long[] slices;
+	private int size;
+	private int clearCount; //lets an incremental copy of the slices notice that they started over
 				
-	public GanttChartQueue(Queue<ProcessControlBlock> processQueue) {
-		super(processQueue);
+	public GanttChartQueue() {
+		this.slices = new long[SLICE_SIZE * 64];
+		this.size = 0;
 	}	
 	
-	@Override
-	public int getAvailableCapacity() {
-		throw new UnsupportedOperationException();
+	public void record(int pid, long burstStartTime, long burstEndTime) {
+		if (size > 0) {
+			int last = (size - 1) * SLICE_SIZE;
+			//a process that keeps the CPU across quanta reports each of them from its original burst start time
+			if (slices[last] == pid && burstStartTime <= slices[last + 2] + 1) {
+				slices[last + 2] = Math.max(slices[last + 2], burstEndTime);
+				return;
+			}
+		}
+		int offset = size * SLICE_SIZE;
+		if (offset == slices.length) {
+			slices = Arrays.copyOf(slices, slices.length * 2);
+		}
+		slices[offset] = pid;
+		slices[offset + 1] = burstStartTime;
+		slices[offset + 2] = burstEndTime;
+		size++;
+	}
+	
+	public void clear() {
+		size = 0;
+		clearCount++;
+	}
+	
+	public int getClearCount() {
+		return clearCount;
+	}
+	
+	public int getSize() {
+		return size;
+	}
+	
+	public void writeCheckpoint(DataOutput output) throws IOException {
+		output.writeInt(size);
+		for (int i = 0; i < size * SLICE_SIZE; i++) {
+			output.writeLong(slices[i]);
+		}
+	}
+	
+	public void readCheckpoint(DataInput input) throws IOException {
+		size = input.readInt();
+		if (size * SLICE_SIZE > slices.length) {
+			slices = new long[SLICE_SIZE * Integer.highestOneBit(size) * 2];
+		}
+		for (int i = 0; i < size * SLICE_SIZE; i++) {
+			slices[i] = input.readLong();
+		}
+	}
+	
+	//slices from up to but not including to, as DataOutput would write them; only the last slice is
+	//ever extended, the ones before it are final
+	public byte[] getSliceBytes(int from, int to) {
+		ByteBuffer buffer = ByteBuffer.allocate((to - from) * SLICE_SIZE * Long.BYTES);
+		buffer.asLongBuffer().put(slices, from * SLICE_SIZE, (to - from) * SLICE_SIZE);
+		return buffer.array();
+	}
+	
+	//append the given number of slices as they were written
+	public void readSlices(DataInput input, int count) throws IOException {
+		if ((size + count) * SLICE_SIZE > slices.length) {
+			slices = Arrays.copyOf(slices, SLICE_SIZE * Integer.highestOneBit(size + count) * 2);
+		}
+		for (int i = size * SLICE_SIZE; i < (size + count) * SLICE_SIZE; i++) {
+			slices[i] = input.readLong();
+		}
+		size += count;
+	}
+	
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	public int getPID(int slice) {
+		return (int)slices[slice * SLICE_SIZE];
+	}
+	
+	public long getBurstStartTime(int slice) {
+		return slices[slice * SLICE_SIZE + 1];
 	}
 	
-	@Override
-	public boolean isBelowThresholdCapacity() {
-		double percentageAvailableCapacity = processQueue.size() / (float)Helper.JOB_QUEUE_CAPACITY;
-		if (percentageAvailableCapacity < Helper.THRESHOLD_CAPACITY)
-			return true; 
-		else
-			return false;
+	public long getBurstEndTime(int slice) {
+		return slices[slice * SLICE_SIZE + 2];
 	}
 	
-	public void displayGanttChartQueue(SchedulerTypeEnum schedulerTypeEnum) {		
-		Iterator<ProcessControlBlock> iterator = processQueue.iterator();		
-		int previousProcessBurstEndTime = 0;
-		System.out.print(schedulerTypeEnum.toString() + " Gantt Chart: ");
-		while (iterator.hasNext()) {
-			ProcessControlBlock processControlBlock = iterator.next();
-			int burstStartTime = processControlBlock.getBurstStartTime();			
+	public void displayGanttChartQueue(ReportBuffer reportBuffer, SchedulerTypeEnum schedulerTypeEnum) {		
+		long previousProcessBurstEndTime = 0;
+		reportBuffer.print(schedulerTypeEnum.toString() + " Gantt Chart: ");
+		for (int slice = 0; slice < size; slice++) {
+			int pid = getPID(slice);
+			long burstStartTime = getBurstStartTime(slice);
+			long burstEndTime = getBurstEndTime(slice);
 			if (previousProcessBurstEndTime == burstStartTime) {
-				System.out.print("|" + previousProcessBurstEndTime + "    P" + processControlBlock.getPID() + "    " + processControlBlock.getBurstEndTime());					
+				reportBuffer.print("|" + previousProcessBurstEndTime + "    P" + pid + "    " + burstEndTime);					
 			}
 			else {
-				System.out.print("|" + previousProcessBurstEndTime + "  Idle  " + (processControlBlock.getBurstStartTime() - 1) + "|" + processControlBlock.getBurstStartTime() + "    P" + processControlBlock.getPID() + "    " + processControlBlock.getBurstEndTime());
+				reportBuffer.print("|" + previousProcessBurstEndTime + "  Idle  " + (burstStartTime - 1) + "|" + burstStartTime + "    P" + pid + "    " + burstEndTime);
 			}
-			previousProcessBurstEndTime = processControlBlock.getBurstEndTime() + 1;
+			previousProcessBurstEndTime = burstEndTime + 1;
 	    }
-		System.out.print("|");
-		System.out.println();
+		reportBuffer.print("|");
+		reportBuffer.println();
 	}
 }
@@ -9,4 +9,25 @@ public class Helper {
 	public static final long QUANTUM = 3;
 	public static final int READY_QUEUE_CAPACITY = 5;	
 	public static final float THRESHOLD_CAPACITY = 0.5f;	
+	public static final int NUMBER_OF_CORES = 1; //more than one would simulate a multi-core host
+	public static final boolean INDEXED_READY_QUEUE = true; //false would use PriorityBlockingQueue for FCFS, SRTF and priority
+	public static final boolean PACKED_SORT_KEYS = true; //false would have the indexed ready queue call the comparators
+	public static final int REPORT_BUFFER_CAPACITY = 4096; //reports a scheduler may run ahead of the reporter
+	public static final long MAX_SPILL_FILE_SIZE = 64L << 20; //bytes of retired processes kept per spill file
+	public static final boolean EVENT_DRIVEN = true; //false would advance SRTF and priority one tick per dispatch
+	public static final int FEEDBACK_QUEUE_LEVELS = 8; //the quantum doubles at each lower level
+	public static final int PRIORITY_BOOST_INTERVAL = 100; //time units between moving every process back to the highest level
+	public static final int TARGET_LATENCY = 12; //time units in which every runnable process runs once under the fair scheduler
+	public static final int MIN_GRANULARITY = 2; //shortest timeslice of the fair scheduler
+	public static final boolean MONITORING = true; //false would not register an MBean per scheduler
+	public static final int ROLLING_WAIT_TIME_WINDOW = 1000; //processes in the rolling average wait time of the MBean
+	public static final boolean PROFILING = false; //true would time the phases of every scheduler and emit flight recorder events, switchable through the MBean
+	public static final int CHECKPOINT_INTERVAL = 100000; //time units between checkpoints of a run with a checkpoint file
+	public static final int CHECKPOINT_WRITES_IN_FLIGHT = 2; //checkpoints queued for the writer thread before the dispatcher waits for it
+	public static final int SAMPLING_INTERVAL = 1000; //time units per window of the time series sampled from every scheduler, 0 for none
+	public static final int SAMPLE_CAPACITY = 4096; //most recent windows kept per scheduler
+	public static final int SHARD_REPORT_INTERVAL = 10000; //time units between the partial reports of a shard worker
+	public static final boolean PIPELINED_GENERATION = false; //true would generate the processes ahead on a thread of their own
+	public static final int PIPELINE_CAPACITY = 1 << 14; //processes the generator thread may run ahead of the scheduler
+	public static final int MAX_TABULATED_VALUE = 1 << 16; //bounded distributions up to this max are sampled from an alias table
 }
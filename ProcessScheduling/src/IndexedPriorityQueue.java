@@ -0,0 +1,188 @@
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+//Single-threaded binary heap that stores each process's heap position in its control block,
+//so remove and reprioritize cost O(log n) instead of a linear scan.
+//Sifting mirrors PriorityBlockingQueue, so ties between equal keys resolve the same way.
+public class IndexedPriorityQueue extends AbstractQueue<ProcessControlBlock> {
+	
+	private ProcessControlBlock[] heap;
+	private int size;
+	private Comparator<ProcessControlBlock> comparator;
+	
+	public IndexedPriorityQueue(int initialCapacity, Comparator<ProcessControlBlock> comparator) {
+		this.heap = new ProcessControlBlock[Math.max(1, initialCapacity)];
+		this.size = 0;
+		this.comparator = comparator;
+	}
+	
+	@Override
+	public boolean offer(ProcessControlBlock processControlBlock) {
+		if (processControlBlock == null) {
+			throw new NullPointerException();
+		}
+		if (size == heap.length) {
+			heap = Arrays.copyOf(heap, heap.length * 2);
+		}
+		siftUp(size, processControlBlock);
+		size++;
+		return true;
+	}
+	
+	@Override
+	public ProcessControlBlock poll() {
+		if (size == 0) {
+			return null;
+		}
+		ProcessControlBlock result = heap[0];
+		removeAt(0);
+		return result;
+	}
+	
+	@Override
+	public ProcessControlBlock peek() {
+		return heap[0];
+	}
+	
+	@Override
+	public int size() {
+		return size;
+	}
+	
+	@Override
+	public boolean contains(Object object) {
+		return indexOf(object) >= 0;
+	}
+	
+	@Override
+	public boolean remove(Object object) {
+		int index = indexOf(object);
+		if (index < 0) {
+			return false;
+		}
+		removeAt(index);
+		return true;
+	}
+	
+	@Override
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			heap[i].setHeapIndex(-1);
+			heap[i] = null;
+		}
+		size = 0;
+	}
+	
+	//the key of the process went down, move it towards the head
+	public void decreaseKey(ProcessControlBlock processControlBlock) {
+		int index = indexOf(processControlBlock);
+		if (index >= 0) {
+			siftUp(index, processControlBlock);
+		}
+	}
+	
+	//the key of the process went up, move it towards the leaves
+	public void increaseKey(ProcessControlBlock processControlBlock) {
+		int index = indexOf(processControlBlock);
+		if (index >= 0) {
+			siftDown(index, processControlBlock);
+		}
+	}
+	
+	//the key of the process changed in either direction
+	public void update(ProcessControlBlock processControlBlock) {
+		int index = indexOf(processControlBlock);
+		if (index >= 0) {
+			siftDown(index, processControlBlock);
+			if (heap[index] == processControlBlock) {
+				siftUp(index, processControlBlock);
+			}
+		}
+	}
+	
+	@Override
+	public Iterator<ProcessControlBlock> iterator() {
+		return new Iterator<ProcessControlBlock>() {
+			private int cursor = 0;
+			
+			@Override
+			public boolean hasNext() {
+				return cursor < size;
+			}
+			
+			@Override
+			public ProcessControlBlock next() {
+				if (cursor >= size) {
+					throw new NoSuchElementException();
+				}
+				return heap[cursor++];
+			}
+		};
+	}
+	
+	private int indexOf(Object object) {
+		if (object instanceof ProcessControlBlock) {
+			int index = ((ProcessControlBlock)object).getHeapIndex();
+			if (index >= 0 && index < size && heap[index] == object) {
+				return index;
+			}
+		}
+		return -1;
+	}
+	
+	private void removeAt(int index) {
+		heap[index].setHeapIndex(-1);
+		size--;
+		if (size == index) {
+			heap[index] = null;
+		}
+		else {
+			ProcessControlBlock moved = heap[size];
+			heap[size] = null;
+			siftDown(index, moved);
+			if (heap[index] == moved) {
+				siftUp(index, moved);
+			}
+		}
+	}
+	
+	private void siftUp(int index, ProcessControlBlock processControlBlock) {
+		while (index > 0) {
+			int parent = (index - 1) >>> 1;
+			ProcessControlBlock parentProcess = heap[parent];
+			if (comparator.compare(processControlBlock, parentProcess) >= 0) {
+				break;
+			}
+			place(index, parentProcess);
+			index = parent;
+		}
+		place(index, processControlBlock);
+	}
+	
+	private void siftDown(int index, ProcessControlBlock processControlBlock) {
+		int half = size >>> 1;
+		while (index < half) {
+			int child = (index << 1) + 1;
+			ProcessControlBlock childProcess = heap[child];
+			int right = child + 1;
+			if (right < size && comparator.compare(childProcess, heap[right]) > 0) {
+				child = right;
+				childProcess = heap[child];
+			}
+			if (comparator.compare(processControlBlock, childProcess) <= 0) {
+				break;
+			}
+			place(index, childProcess);
+			index = child;
+		}
+		place(index, processControlBlock);
+	}
+	
+	private void place(int index, ProcessControlBlock processControlBlock) {
+		heap[index] = processControlBlock;
+		processControlBlock.setHeapIndex(index);
+	}
+}
@@ -4,18 +4,22 @@ import java.util.Queue;
 public class JobQueue extends ProcessQueue {
 				
 	public JobQueue(Queue<ProcessControlBlock> processQueue) {
-		super(processQueue);
+		super(processQueue, Helper.JOB_QUEUE_CAPACITY, Helper.THRESHOLD_CAPACITY);
+	}
+	
+	public JobQueue(Queue<ProcessControlBlock> processQueue, SimulationConfiguration simulationConfiguration) {
+		super(processQueue, simulationConfiguration.getJobQueueCapacity(), simulationConfiguration.getThresholdCapacity());
 	}	
 	
 	@Override
 	public int getAvailableCapacity() {
-		return Helper.JOB_QUEUE_CAPACITY - processQueue.size();
+		return capacity - processQueue.size();
 	}
 	
 	@Override
 	public boolean isBelowThresholdCapacity() {
-		double percentageAvailableCapacity = processQueue.size() / (float)Helper.JOB_QUEUE_CAPACITY;
-		if (percentageAvailableCapacity < Helper.THRESHOLD_CAPACITY)
+		double percentageAvailableCapacity = processQueue.size() / (float)capacity;
+		if (percentageAvailableCapacity < thresholdCapacity)
 			return true; 
 		else
 			return false;
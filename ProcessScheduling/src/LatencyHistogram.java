@@ -0,0 +1,116 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+//Fixed size log-linear histogram of non-negative times: values below 64 are counted exactly, larger
+//values in 32 buckets per power of two, so a reported percentile is within about 3% of the true value.
+//Recording only increments a counter, and histograms of parallel runs merge by adding their counts.
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+	private long[] counts;
+	private long count;
+	private long max;
+
+	public LatencyHistogram() {
+		this.counts = new long[BUCKET_COUNT];
+		this.count = 0;
+		this.max = 0;
+	}
+
+	public void record(long value) {
+		value = Math.max(value, 0);
+		counts[getBucket(value)]++;
+		count++;
+		max = Math.max(max, value);
+	}
+
+	public void merge(LatencyHistogram latencyHistogram) {
+		for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+			counts[bucket] += latencyHistogram.counts[bucket];
+		}
+		count += latencyHistogram.count;
+		max = Math.max(max, latencyHistogram.max);
+	}
+
+	public void clear() {
+		for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+			counts[bucket] = 0;
+		}
+		count = 0;
+		max = 0;
+	}
+
+	//only the buckets in use are written
+	public void writeCheckpoint(DataOutput output) throws IOException {
+		int usedBuckets = 0;
+		for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+			if (counts[bucket] != 0) {
+				usedBuckets++;
+			}
+		}
+		output.writeLong(count);
+		output.writeLong(max);
+		output.writeInt(usedBuckets);
+		for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+			if (counts[bucket] != 0) {
+				output.writeShort(bucket);
+				output.writeLong(counts[bucket]);
+			}
+		}
+	}
+
+	public void readCheckpoint(DataInput input) throws IOException {
+		clear();
+		count = input.readLong();
+		max = input.readLong();
+		int usedBuckets = input.readInt();
+		for (int i = 0; i < usedBuckets; i++) {
+			int bucket = input.readUnsignedShort();
+			counts[bucket] = input.readLong();
+		}
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public long getMax() {
+		return max;
+	}
+
+	//smallest recorded value that the given percentage of values does not exceed, within the bucket precision
+	public long getValueAtPercentile(double percentile) {
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long)Math.ceil(percentile / 100.0 * count));
+		long cumulativeCount = 0;
+		for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+			cumulativeCount += counts[bucket];
+			if (cumulativeCount >= rank) {
+				return Math.min(getBucketUpperBound(bucket), max);
+			}
+		}
+		return max;
+	}
+
+	private static int getBucket(long value) {
+		if (value < 2 * SUB_BUCKET_COUNT) {
+			return (int)value;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		return shift * SUB_BUCKET_COUNT + (int)(value >>> shift);
+	}
+
+	private static long getBucketUpperBound(int bucket) {
+		if (bucket < 2 * SUB_BUCKET_COUNT) {
+			return bucket;
+		}
+		int shift = bucket / SUB_BUCKET_COUNT - 1;
+		long subBucket = bucket % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+		return ((subBucket + 1) << shift) - 1;
+	}
+}
@@ -0,0 +1,59 @@
+import java.util.Random;
+
+//Log-normal whose logarithm has the given mean mu and deviation sigma, rounded down to whole time units
+//of at least 1 and bounded by max. Up to Helper.MAX_TABULATED_VALUE the rounded values are sampled from
+//an alias table instead of from a Gaussian.
+public class LogNormalDistribution implements Distribution {
+
+	private double mu;
+	private double sigma;
+	private int max;
+	private EmpiricalDistribution table; //null when max is too large to tabulate
+
+	public LogNormalDistribution(double mu, double sigma, int max) {
+		if (!(sigma > 0) || max < 1) {
+			throw new IllegalArgumentException("Sigma and max must be positive");
+		}
+		this.mu = mu;
+		this.sigma = sigma;
+		this.max = max;
+		if (max <= Helper.MAX_TABULATED_VALUE) {
+			//value k is drawn for samples in [k, k + 1), 1 also below and max also above
+			int[] values = new int[max];
+			double[] weights = new double[max];
+			for (int k = 1; k <= max; k++) {
+				values[k - 1] = k;
+				weights[k - 1] = (k == 1 ? 1 : getSurvival(k)) - (k == max ? 0 : getSurvival(k + 1));
+			}
+			this.table = new EmpiricalDistribution(values, weights);
+		}
+	}
+
+	//probability of a sample of at least x, from the complementary error function of the standardized logarithm
+	private double getSurvival(double x) {
+		return 0.5 * erfc((Math.log(x) - mu) / (sigma * Math.sqrt(2)));
+	}
+
+	//Chebyshev fit of erfc with a fractional error below 1.2e-7 (Numerical Recipes, erfcc)
+	private static double erfc(double x) {
+		double z = Math.abs(x);
+		double t = 1 / (1 + 0.5 * z);
+		double result = t * Math.exp(-z * z - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418 + t * (-0.18628806
+			+ t * (0.27886807 + t * (-1.13520398 + t * (1.48851587 + t * (-0.82215223 + t * 0.17087277)))))))));
+		return x >= 0 ? result : 2 - result;
+	}
+
+	@Override
+	public int sample(Random random) {
+		if (table != null) {
+			return table.sample(random);
+		}
+		double value = Math.floor(Math.exp(mu + sigma * random.nextGaussian()));
+		return value < max ? Math.max(1, (int)value) : max;
+	}
+
+	@Override
+	public String toString() {
+		return "lognormal:" + mu + ":" + sigma + ":" + max;
+	}
+}
@@ -3,16 +3,29 @@ public class Main {
 		
 	public static void main(String[] args) throws InterruptedException {		
 		
+		//an optional workload trace replaces random process generation
+		SimulationConfiguration simulationConfiguration = new SimulationConfiguration();
+		if (args.length > 0) {
+			simulationConfiguration.setTraceFile(args[0]);
+		}
+		else if (simulationConfiguration.getMaxProcess() != -1) {
+			//generate the workload once so every scheduler runs the same processes
+			simulationConfiguration.setWorkload(Workload.generate(simulationConfiguration));
+		}
+		
 		Metrics metrics = new Metrics(4);
-		Thread a = new Thread(new FirstComeFirstServeScheduling(metrics, 1, SchedulerTypeEnum.FIRST_COME_FIRST_SERVE));
+		Thread a = new Thread(new FirstComeFirstServeScheduling(metrics, 1, SchedulerTypeEnum.FIRST_COME_FIRST_SERVE, simulationConfiguration));
 		a.start();
-		Thread b = new Thread(new RoundRobinScheduling(metrics, 2, SchedulerTypeEnum.ROUND_ROBIN));
+		Thread b = new Thread(new RoundRobinScheduling(metrics, 2, SchedulerTypeEnum.ROUND_ROBIN, simulationConfiguration));
 		b.start();
-		Thread c = new Thread(new ShortestRemainingTimeFirstScheduling(metrics, 3, SchedulerTypeEnum.SHORTEST_REMAINING_TIME_FIRST));
+		Thread c = new Thread(new ShortestRemainingTimeFirstScheduling(metrics, 3, SchedulerTypeEnum.SHORTEST_REMAINING_TIME_FIRST, simulationConfiguration));
 		c.start();
-		Thread d = new Thread(new PriorityScheduling(metrics, 0, SchedulerTypeEnum.PRIORITY));
+		Thread d = new Thread(new PriorityScheduling(metrics, 0, SchedulerTypeEnum.PRIORITY, simulationConfiguration));
 		d.start();
 		
+		//print the buffered reports in order while the schedulers run independently
+		metrics.report();
+		
 		a.join();
 		b.join();
 		c.join();
@@ -4,124 +4,155 @@ import java.util.Map.Entry;
 
 public class Metrics {
 	
-	private int number = 1;
-	private int numberOfThreads;
+	private ReportBuffer[] reportBuffers; //one per scheduler thread, indexed by thread sequence
 	
 	public Metrics(int numberOfThreads) { 
-		this.numberOfThreads = numberOfThreads;
+		this.reportBuffers = new ReportBuffer[numberOfThreads];
+		for (int i = 0; i < numberOfThreads; i++) {
+			reportBuffers[i] = new ReportBuffer();
+		}
 	}
 
-	public void displayAccountingInformation(ProcessControlTable processControlTable, int contextSwitchCount, int currentTime, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {
-		synchronized(this) {
-			while (number % numberOfThreads != threadSequence) {
-				try {
-					this.wait();
-				} catch (InterruptedException e) {
-					e.printStackTrace();
-				}
-			}
-			
-			System.out.println("******************************" + schedulerTypeEnum.toString() + "******************************");
-			//System.out.println("Process ID | Arrival Time | Priority | Burst Units | Response Time | Response Ratio (RR) | Penalty (1/RR) | Start Time | Completion Time | Time Waiting | Turn Around Time");
-			List<Entry<Integer, ProcessControlBlock>> entries = processControlTable.getListEntrySet();
-			Iterator<Entry<Integer, ProcessControlBlock>> iterator = entries.iterator();
-			int totalReponseTime = 0;
-			int totalWaitTime = 0;
-			int totalTurnAroundTime = 0;
-			int totalBurstTime = 0;
-			float totalResponseRatioTime = 0;
-			float totalPenaltyRate = 0;
-			while(iterator.hasNext()) {
-				ProcessControlBlock processControlBlock = iterator.next().getValue();		
-				totalReponseTime += processControlBlock.getResponseTime(); 
-				totalWaitTime += processControlBlock.getWaitTime(); 
-				totalTurnAroundTime += processControlBlock.getTurnAroundTime();
-				totalBurstTime += processControlBlock.getBurstTime(); 
-				totalResponseRatioTime += processControlBlock.getResponseRatioTime(); 
-				totalPenaltyRate += (float)processControlBlock.getTurnAroundTime() / (float)processControlBlock.getBurstTime(); 
-			
-//		        System.out.println("   P" + processControlBlock.getPID() 
-//		        	+ "\t\t  " + processControlBlock.getArrivalTime()
-//		        	+ "\t\t" + processControlBlock.getPriority()
-//		        	+ "\t\t" + processControlBlock.getBurstTime()
-//	        	    + "\t\t" + processControlBlock.getResponseTime() 
-//	        	    + "\t\t" + (float)Math.round(processControlBlock.getResponseRatioTime() * 100.0) / 100.0
-//	        	    + "\t\t" + (float)Math.round(((float)1.0 / processControlBlock.getResponseRatioTime()) * 100.0) / 100.0
-//	        	    + "\t\t" + processControlBlock.getStartTime() 
-//		        	+ "\t\t" + processControlBlock.getCompletionTime() 
-//		        	+ "\t\t" + processControlBlock.getWaitTime() 
-//		            + "\t\t" + processControlBlock.getTurnAroundTime()); 
-			}
-			System.out.println("Current Time: " + currentTime);	
-			System.out.println("Average response time for       " + entries.size() + " processes: " + (float)Math.round(((float)totalReponseTime / (float)entries.size()) * 100.0) / 100.0);
-			System.out.println("Average burst units             " + entries.size() + " processes: " + (float)Math.round(((float)totalBurstTime / (float)entries.size()) * 100.0) / 100.0);
-		    System.out.println("Average waiting time for        " + entries.size() + " processes: " + (float)Math.round(((float)totalWaitTime / (float)entries.size()) * 100.0) / 100.0);
-		    System.out.println("Average turn around time for    " + entries.size() + " processes: " + (float)Math.round(((float)totalTurnAroundTime / (float)entries.size()) * 100.0) / 100.0); 
-		    System.out.println("Average response ratio time for " + entries.size() + " processes: " + (float)Math.round((((float)totalBurstTime / (float)totalTurnAroundTime)) * 100) / 100.0);
-		    System.out.println("Average penalty rate for        " + entries.size() + " processes: " + (float)Math.round((((float)totalTurnAroundTime / (float)totalBurstTime)) * 100) / 100.0);
-		    System.out.println("# of context switches with      " + entries.size() + " processes: " + contextSwitchCount);
-
-			number++;
-			this.notifyAll();			
+	public void displayAccountingInformation(ProcessControlTable processControlTable, int contextSwitchCount, long currentTime, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {
+		ReportBuffer reportBuffer = reportBuffers[threadSequence];
+		appendAccountingInformation(reportBuffer, processControlTable.getAccountingInformation(), contextSwitchCount, currentTime, schedulerTypeEnum);
+		reportBuffer.flush();
+	}
+	
+	//accounting of a multi-core host followed by the utilization and migrations of each core
+	public void displayAccountingInformation(AccountingInformation accountingInformation, int contextSwitchCount, long currentTime, long[] coreBusyTimes, int[] coreMigrationCounts, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {
+		ReportBuffer reportBuffer = reportBuffers[threadSequence];
+		appendAccountingInformation(reportBuffer, accountingInformation, contextSwitchCount, currentTime, schedulerTypeEnum);
+		for (int core = 0; core < coreBusyTimes.length; core++) {
+			float utilization = currentTime > 0 ? (float)coreBusyTimes[core] / (float)currentTime : 0;
+			reportBuffer.println("Core " + core + " utilization: " + (float)Math.round(utilization * 100.0) / 100.0 + "; migrations: " + coreMigrationCounts[core]);
 		}
+		reportBuffer.flush();
 	}
 	
-	public void displayCurrentEvent(ProcessControlTable processControlTable, int currentTime, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {
-		synchronized(this) {
-			while (number % numberOfThreads != threadSequence) {
-				try {
-					this.wait();
-				} catch (InterruptedException e) {
-					e.printStackTrace();
-				}
-			}
-			
-			System.out.println("******************************" + schedulerTypeEnum.toString() + "******************************");
-			ProcessControlBlock runningProcessControlBlock = processControlTable.getRunningProcessControlBlock();
-			System.out.println("Current Time: " + currentTime);		
-			if (runningProcessControlBlock != null) {			
-				System.out.println("Executing Process: P" + runningProcessControlBlock.getPID() + "; Arrival Time: " + runningProcessControlBlock.getArrivalTime() + "; Remaining Burst Time: " + runningProcessControlBlock.getRemainingBurstTime() + "; Priority: " + runningProcessControlBlock.getPriority());
-			}
-			else {
-				System.out.println("Executing Process: Idle");
-			}
-			
-			number++;
-			this.notifyAll();			
+	private void appendAccountingInformation(ReportBuffer reportBuffer, AccountingInformation accountingInformation, int contextSwitchCount, long currentTime, SchedulerTypeEnum schedulerTypeEnum) {
+		reportBuffer.println("******************************" + schedulerTypeEnum.toString() + "******************************");
+		long processCount = accountingInformation.getProcessCount();
+		long totalReponseTime = accountingInformation.getTotalResponseTime();
+		long totalWaitTime = accountingInformation.getTotalWaitTime();
+		long totalTurnAroundTime = accountingInformation.getTotalTurnAroundTime();
+		long totalBurstTime = accountingInformation.getTotalBurstTime();
+		reportBuffer.println("Current Time: " + currentTime);	
+		reportBuffer.println("Average response time for       " + processCount + " processes: " + (float)Math.round(((float)totalReponseTime / (float)processCount) * 100.0) / 100.0);
+		reportBuffer.println("Average burst units             " + processCount + " processes: " + (float)Math.round(((float)totalBurstTime / (float)processCount) * 100.0) / 100.0);
+	    reportBuffer.println("Average waiting time for        " + processCount + " processes: " + (float)Math.round(((float)totalWaitTime / (float)processCount) * 100.0) / 100.0);
+	    reportBuffer.println("Average turn around time for    " + processCount + " processes: " + (float)Math.round(((float)totalTurnAroundTime / (float)processCount) * 100.0) / 100.0); 
+	    reportBuffer.println("Average response ratio time for " + processCount + " processes: " + (float)Math.round((((float)totalBurstTime / (float)totalTurnAroundTime)) * 100) / 100.0);
+	    reportBuffer.println("Average penalty rate for        " + processCount + " processes: " + (float)Math.round((((float)totalTurnAroundTime / (float)totalBurstTime)) * 100) / 100.0);
+	    reportBuffer.println("# of context switches with      " + processCount + " processes: " + contextSwitchCount);
+	    appendPercentiles(reportBuffer, "Response time    ", accountingInformation.getResponseTimeHistogram());
+	    appendPercentiles(reportBuffer, "Waiting time     ", accountingInformation.getWaitTimeHistogram());
+	    appendPercentiles(reportBuffer, "Turn around time ", accountingInformation.getTurnAroundTimeHistogram());
+	}
+	
+	private void appendPercentiles(ReportBuffer reportBuffer, String name, LatencyHistogram latencyHistogram) {
+		reportBuffer.println(name + "p50/p90/p99/p99.9/max: " + latencyHistogram.getValueAtPercentile(50) + " / " + latencyHistogram.getValueAtPercentile(90) + " / "
+			+ latencyHistogram.getValueAtPercentile(99) + " / " + latencyHistogram.getValueAtPercentile(99.9) + " / " + latencyHistogram.getMax());
+	}
+	
+	//wall-clock time of each phase of a profiled scheduler
+	public void displayPhaseTimes(PhaseProfiler phaseProfiler, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {
+		ReportBuffer reportBuffer = reportBuffers[threadSequence];
+		long totalPhaseTime = 0;
+		for (int phase = 0; phase < PhaseProfiler.getNumberOfPhases(); phase++) {
+			totalPhaseTime += phaseProfiler.getPhaseTime(phase);
+		}
+		reportBuffer.println(schedulerTypeEnum.toString() + " phase times:");
+		for (int phase = 0; phase < PhaseProfiler.getNumberOfPhases(); phase++) {
+			long phaseTime = phaseProfiler.getPhaseTime(phase);
+			long phaseCount = phaseProfiler.getPhaseCount(phase);
+			float share = totalPhaseTime > 0 ? (float)phaseTime / (float)totalPhaseTime : 0;
+			reportBuffer.println(String.format("  %-14s %12d ms %8.1f ns/call %6.1f%%", PhaseProfiler.getPhaseName(phase), phaseTime / 1000000,
+				phaseCount > 0 ? (double)phaseTime / phaseCount : 0.0, share * 100));
 		}
+		reportBuffer.flush();
 	}
 	
-	public void displayGanttChartQueue(GanttChartQueue ganttChartQueue, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {
-		synchronized(this) {
-			while (number % numberOfThreads != threadSequence) {
-				try {
-					this.wait();
-				} catch (InterruptedException e) {
-					e.printStackTrace();
-				}
-			}
-			
-			ganttChartQueue.displayGanttChartQueue(schedulerTypeEnum);
-			
-			number++;
-			this.notifyAll();			
+	//on-demand export of every process sorted by start and completion time
+	public void displayProcessControlTable(ProcessControlTable processControlTable, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {
+		ReportBuffer reportBuffer = reportBuffers[threadSequence];
+		reportBuffer.println("******************************" + schedulerTypeEnum.toString() + "******************************");
+		reportBuffer.println("Process ID | Arrival Time | Priority | Burst Units | Response Time | Response Ratio (RR) | Penalty (1/RR) | Start Time | Completion Time | Time Waiting | Turn Around Time");
+		List<Entry<Integer, ProcessControlBlock>> entries = processControlTable.getListEntrySet();
+		Iterator<Entry<Integer, ProcessControlBlock>> iterator = entries.iterator();
+		while(iterator.hasNext()) {
+			ProcessControlBlock processControlBlock = iterator.next().getValue();
+	        reportBuffer.println("   P" + processControlBlock.getPID() 
+	        	+ "\t\t  " + processControlBlock.getArrivalTime()
+	        	+ "\t\t" + processControlBlock.getPriority()
+	        	+ "\t\t" + processControlBlock.getBurstTime()
+	        	+ "\t\t" + processControlBlock.getResponseTime() 
+	        	+ "\t\t" + (float)Math.round(processControlBlock.getResponseRatioTime() * 100.0) / 100.0
+	        	+ "\t\t" + (float)Math.round(((float)1.0 / processControlBlock.getResponseRatioTime()) * 100.0) / 100.0
+	        	+ "\t\t" + processControlBlock.getStartTime() 
+	        	+ "\t\t" + processControlBlock.getCompletionTime() 
+	        	+ "\t\t" + processControlBlock.getWaitTime() 
+	        	+ "\t\t" + processControlBlock.getTurnAroundTime()); 
+		}
+		
+		reportBuffer.flush();
+	}
+	
+	public void displayCurrentEvent(ProcessControlTable processControlTable, long currentTime, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {
+		ReportBuffer reportBuffer = reportBuffers[threadSequence];
+		reportBuffer.println("******************************" + schedulerTypeEnum.toString() + "******************************");
+		ProcessControlBlock runningProcessControlBlock = processControlTable.getRunningProcessControlBlock();
+		reportBuffer.println("Current Time: " + currentTime);		
+		if (runningProcessControlBlock != null) {			
+			reportBuffer.println("Executing Process: P" + runningProcessControlBlock.getPID() + "; Arrival Time: " + runningProcessControlBlock.getArrivalTime() + "; Remaining Burst Time: " + runningProcessControlBlock.getRemainingBurstTime() + "; Priority: " + runningProcessControlBlock.getPriority());
 		}
+		else {
+			reportBuffer.println("Executing Process: Idle");
+		}
+		
+		reportBuffer.flush();
+	}
+	
+	public void displayGanttChartQueue(GanttChartQueue ganttChartQueue, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {
+		ReportBuffer reportBuffer = reportBuffers[threadSequence];
+		ganttChartQueue.displayGanttChartQueue(reportBuffer, schedulerTypeEnum);
+		
+		reportBuffer.flush();
 	}
 	
 	public void displayReadyQueue(ReadyQueue readyQueue, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {
-		synchronized(this) {
-			while (number % numberOfThreads != threadSequence) {
-				try {
-					this.wait();
-				} catch (InterruptedException e) {
-					e.printStackTrace();
+		ReportBuffer reportBuffer = reportBuffers[threadSequence];
+		readyQueue.displayReadyQueue(reportBuffer, schedulerTypeEnum);
+		
+		reportBuffer.flush();
+	}
+	
+	//scheduler thread is done reporting
+	public void close(int threadSequence) {
+		reportBuffers[threadSequence].close();
+	}
+	
+	//single ordered reporter: prints one report per scheduler per round in thread sequence order
+	public void report() throws InterruptedException {
+		int numberOfThreads = reportBuffers.length;
+		boolean[] closed = new boolean[numberOfThreads];
+		int openReportBuffers = numberOfThreads;
+		while (openReportBuffers > 0) {
+			for (int i = 1; i <= numberOfThreads; i++) {
+				int threadSequence = i % numberOfThreads;
+				if (closed[threadSequence]) {
+					continue;
+				}
+				String report = reportBuffers[threadSequence].take();
+				if (report == null) {
+					closed[threadSequence] = true;
+					openReportBuffers--;
+				}
+				else {
+					System.out.print(report);
 				}
 			}
-			
-			readyQueue.displayReadyQueue(schedulerTypeEnum);
-			
-			number++;
-			this.notifyAll();			
 		}
+		System.out.flush();
 	}
 }
@@ -0,0 +1,237 @@
+import java.util.ArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+
+//Multi-core host: every core runs the given policy with its own ready queue, process control table
+//and clock, while the host owns the job queue and dispatches nothing itself. The core with the earliest clock always dispatches
+//next, and a core that runs out of work is fed from the job queue or steals from the busiest core.
+public class MultiCoreScheduling extends Scheduling {
+
+	private CoreScheduling[] cores;
+	private long[] coreBusyTimes;
+	private int[] coreMigrationCounts;
+	private AccountingInformation accountingInformation = new AccountingInformation(); //reused for every report
+	private ArrayList<ProcessControlBlock> admittedProcesses = new ArrayList<ProcessControlBlock>(); //reused for every admission
+
+	public MultiCoreScheduling(Metrics metrics, int threadSequence, SchedulerTypeEnum schedulerTypeEnum, SimulationConfiguration simulationConfiguration) {
+		//the host ready queue stays empty, each core has its own
+		super(new ReadyQueue(new LinkedBlockingQueue<ProcessControlBlock>(), simulationConfiguration), metrics, threadSequence, schedulerTypeEnum, simulationConfiguration);
+		//every core samples its own time series
+		this.timeSeriesSampler = null;
+		int numberOfCores = simulationConfiguration.getNumberOfCores();
+		this.cores = new CoreScheduling[numberOfCores];
+		this.coreBusyTimes = new long[numberOfCores];
+		this.coreMigrationCounts = new int[numberOfCores];
+		for (int core = 0; core < numberOfCores; core++) {
+			SimulationConfiguration coreConfiguration = simulationConfiguration.createCoreConfiguration(core);
+			//cores never generate processes of their own
+			coreConfiguration.setWorkload(Workload.EMPTY);
+			cores[core] = createCoreScheduling(schedulerTypeEnum, metrics, threadSequence, coreConfiguration);
+			//cores admit from the shared job queue
+			cores[core].jobQueue = jobQueue;
+			cores[core].hostedOnMultipleCores = true;
+			//processes retired on a core are recycled by the host, which creates the new ones
+			cores[core].processControlTable.shareRecycledProcessControlBlocks(processControlTable);
+		}
+	}
+
+	@Override
+	protected void simulate() {
+		try {
+			//this would generate new processes and populate job queue
+			processGenerator.populateJobQueue(jobQueue, currentTime);
+			while(true) {
+				int core = balance();
+				while (core >= 0) {
+					dispatch(core);
+					long phaseStartTime = phaseProfiler.start();
+					schedulingMonitor.publish(this);
+					phaseProfiler.stop(PhaseProfiler.METRICS, phaseStartTime);
+					//run job scheduler when the ready queue of the core falls below threshold
+					if (cores[core].readyQueue.isBelowThresholdCapacity()) {
+						runJobScheduler(cores[core]);
+					}
+					core = balance();
+				}
+				for (int i = 0; i < cores.length; i++) {
+					currentTime = Math.max(currentTime, cores[i].currentTime);
+				}
+
+				long phaseStartTime = phaseProfiler.start();
+				metrics.displayAccountingInformation(getAccountingInformation(), getContextSwitchCount(), currentTime, coreBusyTimes, coreMigrationCounts, threadSequence, schedulerTypeEnum);
+				phaseProfiler.stop(PhaseProfiler.METRICS, phaseStartTime);
+				if (simulationConfiguration.isRetireTerminatedProcesses()) {
+					//the slices of retired processes are not kept either
+					for (int i = 0; i < cores.length; i++) {
+						cores[i].ganttChartQueue.clear();
+					}
+				}
+
+				if (!processGenerator.hasMoreProcesses()) {
+					break;
+				}
+				currentTime++;
+				if (simulationConfiguration.isEventDriven()) {
+					//skip the idle time until the next arrival
+					currentTime = Math.max(currentTime, processGenerator.getNextArrivalTime());
+				}
+
+				//this would generate new processes and populate job queue
+				processGenerator.populateJobQueue(jobQueue, currentTime);
+			}
+		}
+		finally {
+			for (int i = 0; i < cores.length; i++) {
+				cores[i].closeTimeSeries();
+				cores[i].processControlTable.close();
+			}
+		}
+	}
+
+	//hand work to idle cores and return the busy core with the earliest clock, -1 when all cores are idle
+	private int balance() {
+		int nextCore = getEarliestBusyCore();
+		long now = nextCore >= 0 ? cores[nextCore].currentTime : Math.max(currentTime, getEarliestCoreTime());
+		boolean balanced = false;
+		for (int i = 0; i < cores.length; i++) {
+			CoreScheduling core = cores[i];
+			//a core that completed a burst in one step may have run ahead, it is handed work once the others catch up
+			if (isBusy(core) || core.currentTime > now) {
+				continue;
+			}
+			//an idle core waits until now
+			core.currentTime = now;
+			if (!jobQueue.isEmpty()) {
+				runJobScheduler(core);
+			}
+			else {
+				steal(i);
+			}
+			balanced |= isBusy(core);
+		}
+		//stealing may have drained the core picked before
+		return balanced ? getEarliestBusyCore() : nextCore;
+	}
+	
+	private int getEarliestBusyCore() {
+		int earliestCore = -1;
+		for (int i = 0; i < cores.length; i++) {
+			if (isBusy(cores[i]) && (earliestCore < 0 || cores[i].currentTime < cores[earliestCore].currentTime)) {
+				earliestCore = i;
+			}
+		}
+		return earliestCore;
+	}
+
+	private long getEarliestCoreTime() {
+		long earliestCoreTime = cores[0].currentTime;
+		for (int i = 1; i < cores.length; i++) {
+			earliestCoreTime = Math.min(earliestCoreTime, cores[i].currentTime);
+		}
+		return earliestCoreTime;
+	}
+
+	//move the next ready process of the core with the longest ready queue to the idle core
+	private void steal(int thief) {
+		CoreScheduling victim = null;
+		for (int i = 0; i < cores.length; i++) {
+			if (i != thief && cores[i].readyQueue.getSize() > 0 && (victim == null || cores[i].readyQueue.getSize() > victim.readyQueue.getSize())) {
+				victim = cores[i];
+			}
+		}
+		if (victim != null) {
+			ProcessControlBlock processControlBlock = victim.readyQueue.dequeue();
+			victim.processControlTable.remove(processControlBlock);
+			cores[thief].processControlTable.add(processControlBlock.getPID(), processControlBlock);
+			cores[thief].readyQueue.enqueue(processControlBlock);
+			coreMigrationCounts[thief]++;
+		}
+	}
+
+	//run one dispatcher step on the core, timed as a phase of the host, and account the burst units it executed
+	private void dispatch(int coreIndex) {
+		CoreScheduling core = cores[coreIndex];
+		int executedBurstTime = core.runDispatcherStep(phaseProfiler);
+		coreBusyTimes[coreIndex] += executedBurstTime;
+		if (core.timeSeriesSampler != null) {
+			long phaseStartTime = phaseProfiler.start();
+			core.recordTimeSeries(executedBurstTime);
+			phaseProfiler.stop(PhaseProfiler.METRICS, phaseStartTime);
+		}
+	}
+
+	//admit processes from the shared job queue into the ready queue of the core
+	private void runJobScheduler(CoreScheduling core) {
+		long phaseStartTime = phaseProfiler.start();
+		boolean tracing = PhaseProfiler.isEnabled();
+		//take the whole batch off the job queue at once, then hand it to the core
+		jobQueue.drainTo(admittedProcesses, core.readyQueue.getAvailableCapacity());
+		for (int i = 0; i < admittedProcesses.size(); i++) {
+			ProcessControlBlock processControlBlock = admittedProcesses.get(i);
+			processControlTable.remove(processControlBlock);
+			core.processControlTable.add(processControlBlock.getPID(), processControlBlock);
+			core.readyQueue.enqueue(processControlBlock);
+			if (tracing) {
+				SchedulingEvents.admission(schedulerTypeEnum, processControlBlock.getPID(), core.currentTime);
+			}
+		}
+		admittedProcesses.clear();
+		phaseProfiler.stop(PhaseProfiler.JOB_SCHEDULER, phaseStartTime);
+	}
+
+	private static boolean isBusy(CoreScheduling core) {
+		return !core.readyQueue.isEmpty() || core.processControlTable.getRunningProcessControlBlock() != null;
+	}
+
+	@Override
+	public int getContextSwitchCount() {
+		int contextSwitchCount = 0;
+		for (int i = 0; i < cores.length; i++) {
+			contextSwitchCount += cores[i].contextSwitchCount;
+		}
+		return contextSwitchCount;
+	}
+
+	@Override
+	public AccountingInformation getAccountingInformation() {
+		accountingInformation.clear();
+		for (int i = 0; i < cores.length; i++) {
+			accountingInformation.merge(cores[i].processControlTable.getAccountingInformation());
+		}
+		return accountingInformation;
+	}
+
+	@Override
+	public long getCompletedProcessCount() {
+		long completedProcessCount = 0;
+		for (int i = 0; i < cores.length; i++) {
+			completedProcessCount += cores[i].getCompletedProcessCount();
+		}
+		return completedProcessCount;
+	}
+
+	@Override
+	public long getTotalWaitTime() {
+		long totalWaitTime = 0;
+		for (int i = 0; i < cores.length; i++) {
+			totalWaitTime += cores[i].getTotalWaitTime();
+		}
+		return totalWaitTime;
+	}
+
+	@Override
+	public int getReadyQueueSize() {
+		int readyQueueSize = 0;
+		for (int i = 0; i < cores.length; i++) {
+			readyQueueSize += cores[i].getReadyQueueSize();
+		}
+		return readyQueueSize;
+	}
+
+	public long[] getCoreBusyTimes() {
+		return coreBusyTimes;
+	}
+
+	public int[] getCoreMigrationCounts() {
+		return coreMigrationCounts;
+	}
+}
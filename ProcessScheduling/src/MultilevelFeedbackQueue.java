@@ -0,0 +1,175 @@
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+//Per-level FIFO queues with a two-level priority bitmap, so finding the highest non-empty level
+//is two bit scans however many levels and processes there are. Level 0 is the highest priority;
+//a process is queued at the level stored in its control block.
+public class MultilevelFeedbackQueue extends AbstractQueue<ProcessControlBlock> {
+
+	public static final int MAX_LEVELS = 64 * 64;
+	private ArrayDeque<ProcessControlBlock>[] levels;
+	private long summary; //bit w is set when bitmap word w is not zero
+	private long[] bitmap; //bit l of word w is set when level w * 64 + l is not empty
+	private int size;
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public MultilevelFeedbackQueue(int numberOfLevels) {
+		if (numberOfLevels < 1 || numberOfLevels > MAX_LEVELS) {
+			throw new IllegalArgumentException("Number of levels must be between 1 and " + MAX_LEVELS + ": " + numberOfLevels);
+		}
+		this.levels = new ArrayDeque[numberOfLevels];
+		for (int level = 0; level < numberOfLevels; level++) {
+			levels[level] = new ArrayDeque<ProcessControlBlock>();
+		}
+		this.bitmap = new long[(numberOfLevels + 63) >>> 6];
+		this.size = 0;
+	}
+
+	public int getNumberOfLevels() {
+		return levels.length;
+	}
+
+	@Override
+	public boolean offer(ProcessControlBlock processControlBlock) {
+		int level = Math.min(Math.max(processControlBlock.getQueueLevel(), 0), levels.length - 1);
+		levels[level].addLast(processControlBlock);
+		bitmap[level >>> 6] |= 1L << level;
+		summary |= 1L << (level >>> 6);
+		size++;
+		return true;
+	}
+
+	@Override
+	public ProcessControlBlock poll() {
+		int level = getHighestLevel();
+		if (level < 0) {
+			return null;
+		}
+		ProcessControlBlock processControlBlock = levels[level].pollFirst();
+		size--;
+		clearIfEmpty(level);
+		return processControlBlock;
+	}
+
+	@Override
+	public ProcessControlBlock peek() {
+		int level = getHighestLevel();
+		if (level < 0) {
+			return null;
+		}
+		return levels[level].peekFirst();
+	}
+
+	@Override
+	public boolean remove(Object object) {
+		if (!(object instanceof ProcessControlBlock)) {
+			return false;
+		}
+		int level = Math.min(Math.max(((ProcessControlBlock)object).getQueueLevel(), 0), levels.length - 1);
+		ArrayDeque<ProcessControlBlock> queue = levels[level];
+		//the dispatcher removes the process it just peeked, which is the head of its level
+		if (queue.peekFirst() == object) {
+			queue.pollFirst();
+		}
+		else if (!queue.removeFirstOccurrence(object)) {
+			return false;
+		}
+		size--;
+		clearIfEmpty(level);
+		return true;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		//only the non-empty levels, found from the bitmap
+		for (long words = summary; words != 0; words &= words - 1) {
+			int word = Long.numberOfTrailingZeros(words);
+			for (long bits = bitmap[word]; bits != 0; bits &= bits - 1) {
+				levels[(word << 6) + Long.numberOfTrailingZeros(bits)].clear();
+			}
+			bitmap[word] = 0;
+		}
+		summary = 0;
+		size = 0;
+	}
+
+	//move every queued process to the highest level, keeping the order of levels and arrivals;
+	//only the non-empty levels are visited, in ascending order of their bits
+	public void boost() {
+		ArrayDeque<ProcessControlBlock> highestLevel = levels[0];
+		//rotated in place rather than iterated, as an iterator would be allocated on every boost
+		for (int i = highestLevel.size(); i > 0; i--) {
+			ProcessControlBlock processControlBlock = highestLevel.pollFirst();
+			processControlBlock.setQueueLevel(0);
+			highestLevel.addLast(processControlBlock);
+		}
+		for (long words = summary; words != 0; words &= words - 1) {
+			int word = Long.numberOfTrailingZeros(words);
+			for (long bits = bitmap[word]; bits != 0; bits &= bits - 1) {
+				int level = (word << 6) + Long.numberOfTrailingZeros(bits);
+				ArrayDeque<ProcessControlBlock> queue = levels[level];
+				while (level > 0 && !queue.isEmpty()) {
+					ProcessControlBlock processControlBlock = queue.pollFirst();
+					processControlBlock.setQueueLevel(0);
+					highestLevel.addLast(processControlBlock);
+				}
+			}
+			bitmap[word] = 0;
+		}
+		summary = 0;
+		if (size > 0) {
+			bitmap[0] = 1L;
+			summary = 1L;
+		}
+	}
+
+	//highest priority non-empty level, -1 when the queue is empty
+	public int getHighestLevel() {
+		if (summary == 0) {
+			return -1;
+		}
+		int word = Long.numberOfTrailingZeros(summary);
+		return (word << 6) + Long.numberOfTrailingZeros(bitmap[word]);
+	}
+
+	@Override
+	public Iterator<ProcessControlBlock> iterator() {
+		return new Iterator<ProcessControlBlock>() {
+			private int level = 0;
+			private Iterator<ProcessControlBlock> levelIterator = levels[0].iterator();
+
+			@Override
+			public boolean hasNext() {
+				while (!levelIterator.hasNext() && level < levels.length - 1) {
+					levelIterator = levels[++level].iterator();
+				}
+				return levelIterator.hasNext();
+			}
+
+			@Override
+			public ProcessControlBlock next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return levelIterator.next();
+			}
+		};
+	}
+
+	private void clearIfEmpty(int level) {
+		if (levels[level].isEmpty()) {
+			int word = level >>> 6;
+			bitmap[word] &= ~(1L << level);
+			if (bitmap[word] == 0) {
+				summary &= ~(1L << word);
+			}
+		}
+	}
+}
@@ -0,0 +1,106 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+//Multilevel feedback queue: new processes enter the highest level, a process that uses up its quantum
+//moves one level down where the quantum is twice as long, and every process is periodically boosted
+//back to the highest level so that long running processes do not starve.
+public class MultilevelFeedbackQueueScheduling extends CoreScheduling {
+
+	private MultilevelFeedbackQueue feedbackQueue;
+	private long nextBoostTime;
+
+	public MultilevelFeedbackQueueScheduling(Metrics metrics, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {
+		this(metrics, threadSequence, schedulerTypeEnum, new SimulationConfiguration());
+	}
+
+	public MultilevelFeedbackQueueScheduling(Metrics metrics, int threadSequence, SchedulerTypeEnum schedulerTypeEnum, SimulationConfiguration simulationConfiguration) {
+		this(new MultilevelFeedbackQueue(simulationConfiguration.getFeedbackQueueLevels()), metrics, threadSequence, schedulerTypeEnum, simulationConfiguration);
+	}
+
+	private MultilevelFeedbackQueueScheduling(MultilevelFeedbackQueue feedbackQueue, Metrics metrics, int threadSequence, SchedulerTypeEnum schedulerTypeEnum, SimulationConfiguration simulationConfiguration) {
+		super(new ReadyQueue(feedbackQueue, simulationConfiguration), metrics, threadSequence, schedulerTypeEnum, simulationConfiguration);
+		this.feedbackQueue = feedbackQueue;
+		this.nextBoostTime = simulationConfiguration.getPriorityBoostInterval();
+	}
+
+	@Override
+	protected void writeSchedulerState(DataOutput output) throws IOException {
+		output.writeLong(nextBoostTime);
+	}
+
+	@Override
+	protected void readSchedulerState(DataInput input) throws IOException {
+		nextBoostTime = input.readLong();
+	}
+
+	@Override
+	protected ProcessControlBlock runCPUScheduler() {
+		ProcessControlBlock currentRunningProcess = processControlTable.getRunningProcessControlBlock();
+		int priorityBoostInterval = simulationConfiguration.getPriorityBoostInterval();
+		if (priorityBoostInterval > 0 && currentTime >= nextBoostTime) {
+			feedbackQueue.boost();
+			if (currentRunningProcess != null) {
+				currentRunningProcess.setQueueLevel(0);
+			}
+			nextBoostTime = (currentTime / priorityBoostInterval + 1) * priorityBoostInterval;
+		}
+		//the head of the highest non-empty level preempts a process of the same or a lower level
+		ProcessControlBlock processControlBlock = readyQueue.peek();
+		if (processControlBlock != null && processControlBlock.getArrivalTime() <= currentTime
+				&& (currentRunningProcess == null || processControlBlock.getQueueLevel() <= currentRunningProcess.getQueueLevel())) {
+			return processControlBlock;
+		}
+		return null;
+	}
+
+	@Override
+	protected void runDispatcher(ProcessControlBlock scheduledProcess) {
+		//context switch if there is already executing process and new process is scheduled to run
+		ProcessControlBlock currentRunningProcess = processControlTable.getRunningProcessControlBlock();
+		if (currentRunningProcess != null && scheduledProcess != null) {
+			//set the state of the process
+			currentRunningProcess.setProcessState(ProcessStateEnum.READY);
+			//put it back to the ready queue at its level
+			readyQueue.enqueue(currentRunningProcess);
+			//context switched
+			contextSwitchCount++;
+
+			setUpRunningProcess(scheduledProcess);
+		}
+		else if (currentRunningProcess != null && scheduledProcess == null) {
+			//continue executing the current process
+			scheduledProcess = currentRunningProcess;
+		}
+		else if (currentRunningProcess == null && scheduledProcess != null) {
+			setUpRunningProcess(scheduledProcess);
+		}
+
+		if (scheduledProcess != null) {
+			//start executing the scheduled process for the quantum of its level
+			int remainingBurstTime = scheduledProcess.getRemainingBurstTime();
+			int queueLevel = scheduledProcess.getQueueLevel();
+			long quantum = simulationConfiguration.getQuantum() << Math.min(queueLevel, 31); //longer than any burst from level 31 on
+			if (remainingBurstTime > quantum) {
+				currentTime += quantum - 1;
+				remainingBurstTime -= quantum;
+				//the whole quantum was used, move down a level
+				scheduledProcess.setQueueLevel(Math.min(queueLevel + 1, feedbackQueue.getNumberOfLevels() - 1));
+			}
+			else {
+				currentTime += remainingBurstTime - 1;
+				remainingBurstTime = 0;
+				scheduledProcess.setCompletionTime(currentTime);
+				scheduledProcess.setTurnAroundTime(currentTime - scheduledProcess.getArrivalTime() + 1);
+				scheduledProcess.setWaitTime(scheduledProcess.getTurnAroundTime() - scheduledProcess.getBurstTime());
+				scheduledProcess.setResponseRatioTime((float)scheduledProcess.getBurstTime() / (float)scheduledProcess.getTurnAroundTime());
+				//set the state of the process to terminated
+				scheduledProcess.setProcessState(ProcessStateEnum.TERMINATED);
+			}
+			scheduledProcess.setRemainingBurstTime(remainingBurstTime);
+			scheduledProcess.setBurstEndTime(currentTime);
+			ganttChartQueue.record(scheduledProcess.getPID(), scheduledProcess.getBurstStartTime(), scheduledProcess.getBurstEndTime());
+		}
+		currentTime++;
+	}
+}
@@ -0,0 +1,138 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+//Runs every configuration of a parameter grid as an independent simulation on all cores
+//and prints the accounting summaries as one table, in grid order.
+//Usage: java ParameterSweep [name=value,value,...]...
+//names: scheduler, cores, seed, quantum, jobQueueCapacity, readyQueueCapacity, thresholdCapacity, maxBurstTime, maxPriority, maxProcess,
+//       arrival and burst, each a Distribution spec or batch and uniform for the default
+public class ParameterSweep {
+
+	private List<SchedulerTypeEnum> schedulerTypes = new ArrayList<SchedulerTypeEnum>();
+	private List<SimulationConfiguration> simulationConfigurations = new ArrayList<SimulationConfiguration>();
+
+	public static void main(String[] args) throws InterruptedException, ExecutionException {
+		String schedulers = "FIRST_COME_FIRST_SERVE,ROUND_ROBIN,SHORTEST_REMAINING_TIME_FIRST,PRIORITY,MULTILEVEL_FEEDBACK_QUEUE,COMPLETELY_FAIR";
+		String numbersOfCores = String.valueOf(Helper.NUMBER_OF_CORES);
+		String seeds = String.valueOf(Helper.RANDOM_SEED);
+		String quanta = String.valueOf(Helper.QUANTUM);
+		String jobQueueCapacities = String.valueOf(Helper.JOB_QUEUE_CAPACITY);
+		String readyQueueCapacities = String.valueOf(Helper.READY_QUEUE_CAPACITY);
+		String thresholdCapacities = String.valueOf(Helper.THRESHOLD_CAPACITY);
+		String maxBurstTimes = String.valueOf(Helper.MAX_BURST_TIME);
+		String maxPriorities = String.valueOf(Helper.MAX_PRIORITY);
+		String maxProcesses = String.valueOf(Helper.MAX_PROCESS);
+		String arrivals = "batch";
+		String bursts = "uniform";
+		for (String arg : args) {
+			int separator = arg.indexOf('=');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Expected name=value,value,... but was: " + arg);
+			}
+			String name = arg.substring(0, separator);
+			String values = arg.substring(separator + 1);
+			switch (name) {
+			case "scheduler": schedulers = values; break;
+			case "cores": numbersOfCores = values; break;
+			case "seed": seeds = values; break;
+			case "quantum": quanta = values; break;
+			case "jobQueueCapacity": jobQueueCapacities = values; break;
+			case "readyQueueCapacity": readyQueueCapacities = values; break;
+			case "thresholdCapacity": thresholdCapacities = values; break;
+			case "maxBurstTime": maxBurstTimes = values; break;
+			case "maxPriority": maxPriorities = values; break;
+			case "maxProcess": maxProcesses = values; break;
+			case "arrival": arrivals = values; break;
+			case "burst": bursts = values; break;
+			default: throw new IllegalArgumentException("Unknown parameter: " + name);
+			}
+		}
+
+		ParameterSweep parameterSweep = new ParameterSweep();
+		//configurations that only differ in how they schedule share one generated workload
+		Map<String, Workload> workloads = new HashMap<String, Workload>();
+		for (String scheduler : split(schedulers))
+		for (String numberOfCores : split(numbersOfCores))
+		for (String seed : split(seeds))
+		for (String quantum : split(quanta))
+		for (String jobQueueCapacity : split(jobQueueCapacities))
+		for (String readyQueueCapacity : split(readyQueueCapacities))
+		for (String thresholdCapacity : split(thresholdCapacities))
+		for (String maxBurstTime : split(maxBurstTimes))
+		for (String maxPriority : split(maxPriorities))
+		for (String maxProcess : split(maxProcesses))
+		for (String arrival : split(arrivals))
+		for (String burst : split(bursts)) {
+			SimulationConfiguration simulationConfiguration = new SimulationConfiguration(Integer.parseInt(seed), Integer.parseInt(jobQueueCapacity), Integer.parseInt(readyQueueCapacity),
+				Float.parseFloat(thresholdCapacity), Integer.parseInt(maxBurstTime), Integer.parseInt(maxPriority), Integer.parseInt(maxProcess), Long.parseLong(quantum));
+			simulationConfiguration.setNumberOfCores(Integer.parseInt(numberOfCores));
+			simulationConfiguration.setArrivalDistribution(arrival.equals("batch") ? null : Distribution.parse(arrival));
+			simulationConfiguration.setBurstDistribution(burst.equals("uniform") ? null : Distribution.parse(burst));
+			if (simulationConfiguration.getMaxProcess() != -1) {
+				String workloadKey = seed + "," + jobQueueCapacity + "," + maxBurstTime + "," + maxPriority + "," + maxProcess + "," + arrival + "," + burst;
+				Workload workload = workloads.get(workloadKey);
+				if (workload == null) {
+					workload = Workload.generate(simulationConfiguration);
+					workloads.put(workloadKey, workload);
+				}
+				simulationConfiguration.setWorkload(workload);
+			}
+			parameterSweep.add(SchedulerTypeEnum.valueOf(scheduler), simulationConfiguration);
+		}
+		parameterSweep.run(new ForkJoinPool(Runtime.getRuntime().availableProcessors()));
+	}
+
+	public void add(SchedulerTypeEnum schedulerTypeEnum, SimulationConfiguration simulationConfiguration) {
+		schedulerTypes.add(schedulerTypeEnum);
+		simulationConfigurations.add(simulationConfiguration);
+	}
+
+	public void run(ForkJoinPool forkJoinPool) throws InterruptedException, ExecutionException {
+		List<Callable<Scheduling>> simulations = new ArrayList<Callable<Scheduling>>();
+		for (int i = 0; i < schedulerTypes.size(); i++) {
+			final SchedulerTypeEnum schedulerTypeEnum = schedulerTypes.get(i);
+			final SimulationConfiguration simulationConfiguration = simulationConfigurations.get(i);
+			simulations.add(new Callable<Scheduling>() {
+				public Scheduling call() {
+					//only the final accounting is collected; nothing drains the reports along the way
+					Scheduling scheduling = Scheduling.createScheduling(schedulerTypeEnum, new DiscardingMetrics(), 0, simulationConfiguration);
+					scheduling.run();
+					return scheduling;
+				}
+			});
+		}
+		List<Future<Scheduling>> results = forkJoinPool.invokeAll(simulations);
+
+		System.out.println(String.format("%-30s %5s %11s %7s %6s %6s %6s %6s %5s %8s %10s %9s %9s %10s %7s %7s %9s  %-16s %s",
+			"Scheduler", "Cores", "Seed", "Quantum", "JobCap", "RdyCap", "Thresh", "Burst", "Prio", "Procs", "Time", "Response", "Wait", "Turnaround", "RR", "Penalty", "Switches", "Arrivals", "Bursts"));
+		for (int i = 0; i < results.size(); i++) {
+			Scheduling scheduling = results.get(i).get();
+			SimulationConfiguration simulationConfiguration = simulationConfigurations.get(i);
+			AccountingInformation accountingInformation = scheduling.getAccountingInformation();
+			float processCount = accountingInformation.getProcessCount();
+			System.out.println(String.format("%-30s %5d %11d %7d %6d %6d %6.2f %6d %5d %8d %10d %9.2f %9.2f %10.2f %7.2f %7.2f %9d  %-16s %s",
+				schedulerTypes.get(i), simulationConfiguration.getNumberOfCores(), simulationConfiguration.getRandomSeed(), simulationConfiguration.getQuantum(), simulationConfiguration.getJobQueueCapacity(),
+				simulationConfiguration.getReadyQueueCapacity(), simulationConfiguration.getThresholdCapacity(), simulationConfiguration.getMaxBurstTime(),
+				simulationConfiguration.getMaxPriority(), accountingInformation.getProcessCount(), scheduling.getCurrentTime(),
+				accountingInformation.getTotalResponseTime() / processCount, accountingInformation.getTotalWaitTime() / processCount,
+				accountingInformation.getTotalTurnAroundTime() / processCount, (float)accountingInformation.getTotalBurstTime() / accountingInformation.getTotalTurnAroundTime(),
+				(float)accountingInformation.getTotalTurnAroundTime() / accountingInformation.getTotalBurstTime(), scheduling.getContextSwitchCount(),
+				simulationConfiguration.getArrivalDistribution() == null ? "batch" : simulationConfiguration.getArrivalDistribution(),
+				simulationConfiguration.getBurstDistribution() == null ? "uniform" : simulationConfiguration.getBurstDistribution()));
+		}
+	}
+
+	private static String[] split(String values) {
+		String[] tokens = values.split(",");
+		for (int i = 0; i < tokens.length; i++) {
+			tokens[i] = tokens[i].trim();
+		}
+		return tokens;
+	}
+}
@@ -0,0 +1,54 @@
+import java.util.Random;
+
+//Heavy-tailed Pareto of the given shape and scale, the smallest value, rounded down to whole time units
+//of at least 1 and bounded by max so a single sample can not overflow the clock. Shapes below 2 have an
+//infinite variance before bounding: most processes are short, a few are very long. Up to
+//Helper.MAX_TABULATED_VALUE the rounded values are sampled from an alias table instead of by pow.
+public class ParetoDistribution implements Distribution {
+
+	private double shape;
+	private double scale;
+	private int max;
+	private double inverseShape;
+	private EmpiricalDistribution table; //null when max is too large to tabulate
+
+	public ParetoDistribution(double shape, double scale, int max) {
+		if (!(shape > 0) || !(scale > 0) || max < 1) {
+			throw new IllegalArgumentException("Shape, scale and max must be positive");
+		}
+		this.shape = shape;
+		this.scale = scale;
+		this.max = max;
+		this.inverseShape = -1.0 / shape;
+		if (max <= Helper.MAX_TABULATED_VALUE) {
+			//value k is drawn for samples in [k, k + 1), 1 also below and max also above
+			int[] values = new int[max];
+			double[] weights = new double[max];
+			for (int k = 1; k <= max; k++) {
+				values[k - 1] = k;
+				weights[k - 1] = (k == 1 ? 1 : getSurvival(k)) - (k == max ? 0 : getSurvival(k + 1));
+			}
+			this.table = new EmpiricalDistribution(values, weights);
+		}
+	}
+
+	//probability of a sample of at least x
+	private double getSurvival(double x) {
+		return x <= scale ? 1 : Math.pow(scale / x, shape);
+	}
+
+	@Override
+	public int sample(Random random) {
+		if (table != null) {
+			return table.sample(random);
+		}
+		//inverse transform of 1 - u in (0, 1]
+		double value = Math.floor(scale * Math.pow(1.0 - random.nextDouble(), inverseShape));
+		return value < max ? Math.max(1, (int)value) : max;
+	}
+
+	@Override
+	public String toString() {
+		return "pareto:" + shape + ":" + scale + ":" + max;
+	}
+}
@@ -0,0 +1,67 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+
+//Wall-clock nanoseconds one scheduler spends in each phase of its run. Profiling is switched for the whole
+//JVM at runtime, through the MBean of any scheduler; while it is off a phase costs a volatile read and no
+//clock reads. The scheduler thread is the only writer and publishes with ordered stores.
+public class PhaseProfiler {
+
+	public static final int JOB_SCHEDULER = 0;
+	public static final int CPU_SCHEDULER = 1;
+	public static final int DISPATCHER = 2;
+	public static final int METRICS = 3;
+	private static final String[] PHASE_NAMES = {"Job scheduler", "CPU scheduler", "Dispatcher", "Metrics"};
+	private static volatile boolean enabled = Helper.PROFILING;
+	private AtomicLongArray phaseTimes = new AtomicLongArray(PHASE_NAMES.length);
+	private AtomicLongArray phaseCounts = new AtomicLongArray(PHASE_NAMES.length);
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	//also turns the flight recorder events of the schedulers on or off
+	public static void setEnabled(boolean enabled) {
+		PhaseProfiler.enabled = enabled;
+	}
+
+	//start of a phase, 0 when profiling is off
+	public long start() {
+		return enabled ? System.nanoTime() : 0;
+	}
+
+	//account the phase begun at startTime and return the end, which may start the next phase; 0 when profiling is off
+	public long stop(int phase, long startTime) {
+		if (startTime == 0) {
+			return start();
+		}
+		long endTime = System.nanoTime();
+		phaseTimes.lazySet(phase, phaseTimes.get(phase) + endTime - startTime);
+		phaseCounts.lazySet(phase, phaseCounts.get(phase) + 1);
+		return enabled ? endTime : 0;
+	}
+
+	public long getPhaseTime(int phase) {
+		return phaseTimes.get(phase);
+	}
+
+	public long getPhaseCount(int phase) {
+		return phaseCounts.get(phase);
+	}
+
+	public static int getNumberOfPhases() {
+		return PHASE_NAMES.length;
+	}
+
+	public static String getPhaseName(int phase) {
+		return PHASE_NAMES[phase];
+	}
+
+	//true while no phase has been timed
+	public boolean isEmpty() {
+		for (int phase = 0; phase < PHASE_NAMES.length; phase++) {
+			if (phaseCounts.get(phase) > 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -1,6 +1,4 @@
-import java.util.Comparator;
-
-public class ProcessArrivalTimeComparator implements Comparator<ProcessControlBlock> {
+public class ProcessArrivalTimeComparator implements SortKeyComparator {
 
 	@Override
 	public int compare(ProcessControlBlock process1, ProcessControlBlock process2) {
@@ -16,4 +14,10 @@ public class ProcessArrivalTimeComparator implements Comparator<ProcessControlBl
             else
                 return 0;  
 	}
+	
+	//arrival time, then pid
+	@Override
+	public long getSortKey(ProcessControlBlock processControlBlock) {
+		return SortKeyComparator.pack(processControlBlock.getArrivalTime(), processControlBlock.getPID());
+	}
 }
\ No newline at end of file
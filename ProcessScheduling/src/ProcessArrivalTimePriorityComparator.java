@@ -1,6 +1,4 @@
-import java.util.Comparator;
-
-public class ProcessArrivalTimePriorityComparator implements Comparator<ProcessControlBlock> {
+public class ProcessArrivalTimePriorityComparator implements SortKeyComparator {
 	
 	@Override
 	public int compare(ProcessControlBlock process1, ProcessControlBlock process2) {
@@ -16,4 +14,10 @@ public class ProcessArrivalTimePriorityComparator implements Comparator<ProcessC
             else
                 return 0;  
 	}
+	
+	//arrival time, then priority
+	@Override
+	public long getSortKey(ProcessControlBlock processControlBlock) {
+		return SortKeyComparator.pack(processControlBlock.getArrivalTime(), processControlBlock.getPriority());
+	}
 }
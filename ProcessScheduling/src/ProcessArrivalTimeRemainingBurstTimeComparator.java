@@ -1,6 +1,4 @@
-import java.util.Comparator;
-
-public class ProcessArrivalTimeRemainingBurstTimeComparator implements Comparator<ProcessControlBlock> {
+public class ProcessArrivalTimeRemainingBurstTimeComparator implements SortKeyComparator {
 
 	@Override
 	public int compare(ProcessControlBlock process1, ProcessControlBlock process2) {
@@ -16,4 +14,10 @@ public class ProcessArrivalTimeRemainingBurstTimeComparator implements Comparato
             else
                 return 0;  
 	}
+	
+	//arrival time, then remaining burst time
+	@Override
+	public long getSortKey(ProcessControlBlock processControlBlock) {
+		return SortKeyComparator.pack(processControlBlock.getArrivalTime(), processControlBlock.getRemainingBurstTime());
+	}
 }
\ No newline at end of file
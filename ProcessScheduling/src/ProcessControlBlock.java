@@ -1,20 +1,25 @@
 
 public class ProcessControlBlock {
 	private int pid;
-	private int arrivalTime;
-	private int startTime;
+	private long arrivalTime;
+	private long startTime;
 	private int burstTime;
 	private int remainingBurstTime;
-	private int burstStartTime;
-	private int burstEndTime;
-	private int waitTime;
-	private int responseTime;
-	private int completionTime;
-	private int turnAroundTime;
+	private long burstStartTime;
+	private long burstEndTime;
+	private long waitTime;
+	private long responseTime;
+	private long completionTime;
+	private long turnAroundTime;
 	private float responseRatioTime;
 	private int priority;
+	private int queueLevel; //level of the multilevel feedback queue, 0 is the highest
+	private long virtualRuntime; //weighted run time of the completely fair scheduler, in 1/1024 time units
 	private ProcessStateEnum processState; //NEW, READY, RUNNING, TERMINATED
 	private int programCounter;	
+	private ProcessControlTable processControlTable; //table whose state index tracks this process
+	private int heapIndex = -1; //position in an IndexedPriorityQueue, -1 when not queued
+	private int liveIndex = -1; //position among the live processes of a checkpointed table, -1 when not there
 	
 	public ProcessControlBlock(int pid, ProcessStateEnum processState, int programCounter) {
 		this.pid = pid;		
@@ -22,29 +27,53 @@ public class ProcessControlBlock {
 		this.programCounter = programCounter;
 	}
 	
-	public ProcessControlBlock(int pid, int burstStartTime, int burstEndTime) {
+	public ProcessControlBlock(int pid, long burstStartTime, long burstEndTime) {
 		this.pid = pid;		
 		this.burstStartTime = burstStartTime;
 		this.burstEndTime = burstEndTime;
 	}
 	
+	//reuse a retired control block for a new process
+	void reset(int pid, ProcessStateEnum processState, int programCounter) {
+		this.pid = pid;
+		this.arrivalTime = 0;
+		this.startTime = 0;
+		this.burstTime = 0;
+		this.remainingBurstTime = 0;
+		this.burstStartTime = 0;
+		this.burstEndTime = 0;
+		this.waitTime = 0;
+		this.responseTime = 0;
+		this.completionTime = 0;
+		this.turnAroundTime = 0;
+		this.responseRatioTime = 0;
+		this.priority = 0;
+		this.queueLevel = 0;
+		this.virtualRuntime = 0;
+		this.processState = processState;
+		this.programCounter = programCounter;
+		this.processControlTable = null;
+		this.heapIndex = -1;
+		this.liveIndex = -1;
+	}
+	
 	public int getPID() { //get process id of the process
 		return pid; 
 	}
 	
-	public int getArrivalTime() { //get arrival time of the process
+	public long getArrivalTime() { //get arrival time of the process
 		return arrivalTime; 
 	}
 	
-	public void setArrivalTime(int arrivalTime) { //set arrival time of the process
+	public void setArrivalTime(long arrivalTime) { //set arrival time of the process
 		this.arrivalTime = arrivalTime; 
 	}
 	
-	public int getStartTime() { //get start time of the process
+	public long getStartTime() { //get start time of the process
 		return startTime; 
 	}
 	
-	public void setStartTime(int startTime) { //set start time of the process
+	public void setStartTime(long startTime) { //set start time of the process
 		this.startTime = startTime;
 	}
 	
@@ -56,19 +85,19 @@ public class ProcessControlBlock {
 		this.burstTime = burstTime;
 	}
 	
-	public int getBurstStartTime() { //get burst start time of the process
+	public long getBurstStartTime() { //get burst start time of the process
 		return burstStartTime; 
 	}
 	
-	public void setBurstStartTime(int burstStartTime) { //set burst start time of the process
+	public void setBurstStartTime(long burstStartTime) { //set burst start time of the process
 		this.burstStartTime = burstStartTime;
 	}
 	
-	public int getBurstEndTime() { //get burst end time of the process
+	public long getBurstEndTime() { //get burst end time of the process
 		return burstEndTime; 
 	}
 	
-	public void setBurstEndTime(int burstEndTime) { //set burst end time of the process
+	public void setBurstEndTime(long burstEndTime) { //set burst end time of the process
 		this.burstEndTime = burstEndTime;
 	}
 	
@@ -80,19 +109,19 @@ public class ProcessControlBlock {
 		this.remainingBurstTime = remainingBurstTime;
 	}
 		
-	public int getWaitTime() { //get wait time of the process
+	public long getWaitTime() { //get wait time of the process
 		return waitTime; 
 	}
 	
-	public void setWaitTime(int waitTime) { //set wait time of the process
+	public void setWaitTime(long waitTime) { //set wait time of the process
 		this.waitTime = waitTime; 
 	}
 	
-	public int getResponseTime() { //get response time of the process
+	public long getResponseTime() { //get response time of the process
 		return responseTime; 
 	}
 	
-	public void setResponseTime(int responseTime) { //set response time of the process
+	public void setResponseTime(long responseTime) { //set response time of the process
 		this.responseTime = responseTime;
 	}
 	
@@ -104,19 +133,19 @@ public class ProcessControlBlock {
 		this.responseRatioTime = responseRatioTime;
 	}
 	
-	public int getCompletionTime() { //get completion time of the process
+	public long getCompletionTime() { //get completion time of the process
 		return completionTime; 
 	}
 	
-	public void setCompletionTime(int completionTime) { //set completion time of the process
+	public void setCompletionTime(long completionTime) { //set completion time of the process
 		this.completionTime = completionTime;
 	}
 	
-	public int getTurnAroundTime() { //get turn around time of the process
+	public long getTurnAroundTime() { //get turn around time of the process
 		return turnAroundTime; 
 	}
 	
-	public void setTurnAroundTime(int turnAroundTime) { //set turn around time of the process
+	public void setTurnAroundTime(long turnAroundTime) { //set turn around time of the process
 		this.turnAroundTime = turnAroundTime; 
 	}
 	
@@ -128,12 +157,52 @@ public class ProcessControlBlock {
 		this.priority = priority; 
 	}
 	
+	public int getQueueLevel() { //get feedback queue level of the process
+		return queueLevel; 
+	}
+	
+	public void setQueueLevel(int queueLevel) { //set feedback queue level of the process
+		this.queueLevel = queueLevel; 
+	}
+	
+	public long getVirtualRuntime() { //get virtual runtime of the process
+		return virtualRuntime; 
+	}
+	
+	public void setVirtualRuntime(long virtualRuntime) { //set virtual runtime of the process
+		this.virtualRuntime = virtualRuntime; 
+	}
+	
 	public ProcessStateEnum getProcessState() { //get state of the process
 		return processState;
 	}
 	
 	public void setProcessState(ProcessStateEnum processState) { //set state of the process
+		ProcessStateEnum oldProcessState = this.processState;
 		this.processState = processState;
+		if (processControlTable != null && oldProcessState != processState) {
+			processControlTable.updateProcessState(this, oldProcessState, processState);
+		}
+	}
+	
+	int getHeapIndex() { //get position of the process in an indexed priority queue
+		return heapIndex;
+	}
+	
+	void setHeapIndex(int heapIndex) { //set position of the process in an indexed priority queue
+		this.heapIndex = heapIndex;
+	}
+	
+	int getLiveIndex() { //get position of the process among the live processes of its table
+		return liveIndex;
+	}
+	
+	void setLiveIndex(int liveIndex) { //set position of the process among the live processes of its table
+		this.liveIndex = liveIndex;
+	}
+	
+	void setProcessControlTable(ProcessControlTable processControlTable) { //set the table that indexes the state of the process
+		this.processControlTable = processControlTable;
 	}
 	
 	public int getProgramCounter() { //get program counter of the process
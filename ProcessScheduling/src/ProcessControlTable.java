@@ -1,39 +1,238 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
 import java.util.Map.Entry;
 
 public class ProcessControlTable {
 	
-	private LinkedHashMap<Integer, ProcessControlBlock> processControlTable;
+	private ProcessIdMap processControlTable;
+	//state index kept current by ProcessControlBlock.setProcessState
+	private ProcessControlBlock runningProcessControlBlock;
+	private int[] processStateCounts;
+	private AccountingInformation accountingInformation;
+	//continuous mode: terminated processes are folded into the accounting and evicted
+	private boolean retireTerminatedProcesses;
+	private RollingProcessLog rollingProcessLog;
+	private ArrayDeque<ProcessControlBlock> recycledProcessControlBlocks; //retired control blocks handed out again to new processes
+	private ArrayList<ProcessControlBlock> uncheckpointedProcesses; //terminated since the last checkpoint, null when not checkpointing
+	private ProcessControlBlock[] liveProcesses; //not terminated, in no particular order; null when not checkpointing
+	private int liveProcessCount;
 	
 	public ProcessControlTable() {		
-		processControlTable = new LinkedHashMap<Integer, ProcessControlBlock>();
+		this(false, null);
     } 
 	
+	public ProcessControlTable(boolean retireTerminatedProcesses, RollingProcessLog rollingProcessLog) {		
+		processControlTable = new ProcessIdMap();
+		processStateCounts = new int[ProcessStateEnum.values().length];
+		accountingInformation = new AccountingInformation();
+		this.retireTerminatedProcesses = retireTerminatedProcesses;
+		this.rollingProcessLog = rollingProcessLog;
+		this.recycledProcessControlBlocks = new ArrayDeque<ProcessControlBlock>();
+    } 
+	
+	//control block for a new process, a recycled one once retired processes are available
+	public ProcessControlBlock newProcessControlBlock(int pid) {
+		ProcessControlBlock processControlBlock = recycledProcessControlBlocks.poll();
+		if (processControlBlock == null) {
+			return new ProcessControlBlock(pid, ProcessStateEnum.NEW, 1);
+		}
+		processControlBlock.reset(pid, ProcessStateEnum.NEW, 1);
+		return processControlBlock;
+	}
+	
+	//retired control block for the generator to hand out from another thread, null when there is none
+	ProcessControlBlock pollRecycledProcessControlBlock() {
+		return recycledProcessControlBlocks.poll();
+	}
+	
+	//recycle into the pool of the given table, e.g. the cores of a multi-core host into the host
+	void shareRecycledProcessControlBlocks(ProcessControlTable processControlTable) {
+		this.recycledProcessControlBlocks = processControlTable.recycledProcessControlBlocks;
+	}
+	
 	public void add(int pid, ProcessControlBlock processControlBlock) {
-		processControlTable.put(pid, processControlBlock);
+		detach(processControlTable.put(processControlBlock));
+		processControlBlock.setProcessControlTable(this);
+		updateProcessState(processControlBlock, null, processControlBlock.getProcessState());
+	}
+	
+	//take the process replaced by another one of the same pid out of the state index
+	private void detach(ProcessControlBlock replacedProcessControlBlock) {
+		if (replacedProcessControlBlock != null) {
+			updateProcessState(replacedProcessControlBlock, replacedProcessControlBlock.getProcessState(), null);
+			replacedProcessControlBlock.setProcessControlTable(null);
+		}
+	}
+	
+	//take a process out of this table, e.g. when it migrates to another core
+	public void remove(ProcessControlBlock processControlBlock) {
+		if (processControlTable.remove(processControlBlock.getPID()) != null) {
+			updateProcessState(processControlBlock, processControlBlock.getProcessState(), null);
+			processControlBlock.setProcessControlTable(null);
+		}
+	}
+	
+	//called by the process control block on every state transition
+	void updateProcessState(ProcessControlBlock processControlBlock, ProcessStateEnum oldProcessState, ProcessStateEnum newProcessState) {
+		if (liveProcesses != null && isLive(oldProcessState) != isLive(newProcessState)) {
+			if (isLive(newProcessState)) {
+				addLiveProcess(processControlBlock);
+			}
+			else {
+				removeLiveProcess(processControlBlock);
+			}
+		}
+		if (oldProcessState != null) {
+			processStateCounts[oldProcessState.ordinal()]--;
+			if (oldProcessState == ProcessStateEnum.RUNNING && runningProcessControlBlock == processControlBlock) {
+				runningProcessControlBlock = null;
+			}
+		}
+		if (newProcessState != null) {
+			processStateCounts[newProcessState.ordinal()]++;
+			if (newProcessState == ProcessStateEnum.RUNNING) {
+				runningProcessControlBlock = processControlBlock;
+			}
+			else if (newProcessState == ProcessStateEnum.TERMINATED) {
+				accountingInformation.add(processControlBlock);
+				if (retireTerminatedProcesses) {
+					retire(processControlBlock);
+				}
+				else if (uncheckpointedProcesses != null) {
+					uncheckpointedProcesses.add(processControlBlock);
+				}
+			}
+		}
+	}
+	
+	private static boolean isLive(ProcessStateEnum processState) {
+		return processState != null && processState != ProcessStateEnum.TERMINATED;
+	}
+	
+	private void addLiveProcess(ProcessControlBlock processControlBlock) {
+		if (liveProcessCount == liveProcesses.length) {
+			liveProcesses = Arrays.copyOf(liveProcesses, liveProcesses.length * 2);
+		}
+		processControlBlock.setLiveIndex(liveProcessCount);
+		liveProcesses[liveProcessCount++] = processControlBlock;
+	}
+	
+	//the last live process takes the place of the removed one
+	private void removeLiveProcess(ProcessControlBlock processControlBlock) {
+		int liveIndex = processControlBlock.getLiveIndex();
+		ProcessControlBlock lastProcessControlBlock = liveProcesses[--liveProcessCount];
+		liveProcesses[liveIndex] = lastProcessControlBlock;
+		lastProcessControlBlock.setLiveIndex(liveIndex);
+		liveProcesses[liveProcessCount] = null;
+		processControlBlock.setLiveIndex(-1);
+	}
+	
+	private void retire(ProcessControlBlock processControlBlock) {
+		if (rollingProcessLog != null) {
+			try {
+				rollingProcessLog.write(processControlBlock);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		processControlTable.remove(processControlBlock.getPID());
+		processStateCounts[ProcessStateEnum.TERMINATED.ordinal()]--;
+		processControlBlock.setProcessControlTable(null);
+		//nothing refers to a retired process once the dispatcher is done with it, and new processes are
+		//only created after the dispatch loop, so it can be handed out again
+		recycledProcessControlBlocks.push(processControlBlock);
+	}
+	
+	public void close() {
+		if (rollingProcessLog != null) {
+			try {
+				rollingProcessLog.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+	
+	//put back a process of a checkpoint; its accounting is restored separately
+	void restore(ProcessControlBlock processControlBlock) {
+		detach(processControlTable.put(processControlBlock));
+		processControlBlock.setProcessControlTable(this);
+		processStateCounts[processControlBlock.getProcessState().ordinal()]++;
+		if (processControlBlock.getProcessState() == ProcessStateEnum.RUNNING) {
+			runningProcessControlBlock = processControlBlock;
+		}
+		if (liveProcesses != null && isLive(processControlBlock.getProcessState())) {
+			addLiveProcess(processControlBlock);
+		}
+	}
+	
+	//start collecting terminated processes and indexing the live ones, so each checkpoint only writes
+	//the newly terminated processes and the live ones, without going through the whole table
+	void trackCheckpointedProcesses() {
+		if (uncheckpointedProcesses == null) {
+			uncheckpointedProcesses = new ArrayList<ProcessControlBlock>();
+			liveProcesses = new ProcessControlBlock[64];
+			for (ProcessControlBlock processControlBlock : processControlTable.values()) {
+				if (isLive(processControlBlock.getProcessState())) {
+					addLiveProcess(processControlBlock);
+				}
+			}
+		}
+	}
+	
+	List<ProcessControlBlock> drainTerminatedProcesses() {
+		List<ProcessControlBlock> terminatedProcesses = uncheckpointedProcesses;
+		uncheckpointedProcesses = new ArrayList<ProcessControlBlock>();
+		return terminatedProcesses;
+	}
+	
+	int getLiveProcessCount() {
+		return liveProcessCount;
+	}
+	
+	ProcessControlBlock getLiveProcess(int i) {
+		return liveProcesses[i];
+	}
+	
+	RollingProcessLog getRollingProcessLog() {
+		return rollingProcessLog;
+	}
+	
+	void setRollingProcessLog(RollingProcessLog rollingProcessLog) {
+		this.rollingProcessLog = rollingProcessLog;
+	}
+	
+	public int getSize() {
+		return processControlTable.size();
+	}
+	
+	public int getProcessStateCount(ProcessStateEnum processState) {
+		return processStateCounts[processState.ordinal()];
 	}
 		
+	public AccountingInformation getAccountingInformation() {
+		return accountingInformation;
+	}
+	
 	public ProcessControlBlock getProcessControlBlockByProcessId(int pid) {
 		return processControlTable.get(pid);
 	}
 	
 	public ProcessControlBlock getRunningProcessControlBlock() {
-		Set<Integer> keys = processControlTable.keySet();
-		for(Integer key: keys) {
-			ProcessControlBlock processControlBlock = processControlTable.get(key);
-			if (processControlBlock.getProcessState() == ProcessStateEnum.RUNNING) {
-				return processControlBlock;				
-			}
-		}
-		return null;
+		return runningProcessControlBlock;
 	}	
 
 	public List<Entry<Integer, ProcessControlBlock>> getListEntrySet() {
-		List<Entry<Integer, ProcessControlBlock>> entries = new ArrayList<Entry<Integer, ProcessControlBlock>>(processControlTable.entrySet());
+		List<Entry<Integer, ProcessControlBlock>> entries = new ArrayList<Entry<Integer, ProcessControlBlock>>(processControlTable.size());
+		for (ProcessControlBlock processControlBlock : processControlTable.values()) {
+			entries.add(new AbstractMap.SimpleImmutableEntry<Integer, ProcessControlBlock>(processControlBlock.getPID(), processControlBlock));
+		}
 		Collections.sort(entries, new ProcessControlTableComparator());		
 		return entries;
 	}
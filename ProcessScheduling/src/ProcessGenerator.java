@@ -1,83 +1,328 @@
-import java.util.ArrayList;
-import java.util.Iterator;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
 import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
 
 public class ProcessGenerator {
 	
+	private static final int WORKLOAD_CHUNK_SIZE = 1 << 16; //processes generated at once by an unbounded simulation
 	private int processCounter;
-	Random random;
+	private long lastReleasedArrivalTime = Long.MIN_VALUE; //of the last process put into the job queue, processes are released in arrival order
+	private Workload workload; //released into the job queue as the processes arrive
+	private int workloadIndex; //next process of the workload
+	private Random random; //draws the next chunk of an unbounded workload, null when the workload is complete
+	private SimulationConfiguration simulationConfiguration;
 	private ProcessControlTable processControlTable;
+	private WorkloadTrace workloadTrace; //replayed instead of the workload when set
+	private long[] record = new long[4]; //pid, arrival time, burst time and priority of the trace record being replayed
+	//pipelined generation: a producer thread creates the processes ahead of simulated time
+	private ProcessRing processRing; //processes in workload order, null when generating on the dispatcher thread
+	private ProcessRing recycledProcessRing; //retired control blocks going back to the producer
+	private Thread producer;
+	private volatile boolean producerDone; //set after the last process was put into the ring
+	private volatile boolean stopped;
+	private volatile RuntimeException producerFailure;
 		
-	public ProcessGenerator(Random random, ProcessControlTable processControlTable) {
+	public ProcessGenerator(ProcessControlTable processControlTable, Workload workload) {
 		this.processCounter = 1;
-		this.random = random;
+		this.workload = workload;
+		this.workloadIndex = 0;
 		this.processControlTable = processControlTable;
 	}
+	
+	//generates the workload of an unbounded simulation chunk by chunk, always the same for the same seed
+	public ProcessGenerator(ProcessControlTable processControlTable, SimulationConfiguration simulationConfiguration) {
+		this(processControlTable, Workload.EMPTY);
+		this.random = new WorkloadRandom(simulationConfiguration.getRandomSeed());
+		this.simulationConfiguration = simulationConfiguration;
+	}
+		
+	public ProcessGenerator(ProcessControlTable processControlTable, WorkloadTrace workloadTrace) {
+		this.processCounter = 1;
+		this.processControlTable = processControlTable;
+		this.workloadTrace = workloadTrace;
+	}
 		
 	public int getProcessCounter() {
 		return processCounter;
 	}
 	
-	public void randomizeProcessArrivalInJobQueue(JobQueue jobQueue) {		
+	public Workload getWorkload() {
+		return workload;
+	}
+	
+	public boolean isTraceDriven() {
+		return workloadTrace != null;
+	}
+	
+	public boolean hasMoreProcesses() {
+		if (workloadTrace != null) {
+			return workloadTrace.hasNext();
+		}
+		if (processRing != null) {
+			return awaitNextProcess() != null;
+		}
+		return random != null || workloadIndex < workload.getSize();
+	}
+	
+	//arrival time of the next process, Long.MIN_VALUE when there is none
+	public long getNextArrivalTime() {
+		if (processRing != null) {
+			ProcessControlBlock processControlBlock = awaitNextProcess();
+			return processControlBlock != null ? processControlBlock.getArrivalTime() : Long.MIN_VALUE;
+		}
+		if (workloadTrace != null) {
+			try {
+				return workloadTrace.hasNext() ? workloadTrace.peekArrivalTime() : Long.MIN_VALUE;
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		if (!hasNextInWorkload()) {
+			return Long.MIN_VALUE;
+		}
+		return workload.getArrivalTime(workloadIndex);
+	}
+	
+	//arrival time of the last process put into the job queue, Long.MIN_VALUE before the first
+	public long getLastReleasedArrivalTime() {
+		return lastReleasedArrivalTime;
+	}
+	
+	public void populateJobQueue(JobQueue jobQueue, long currentTime) {
+		if (workloadTrace != null) {
+			replayProcessArrivalInJobQueue(jobQueue, currentTime);
+		}
+		else if (processRing != null) {
+			releasePipelinedProcessArrivalInJobQueue(jobQueue, currentTime);
+		}
+		else {
+			releaseProcessArrivalInJobQueue(jobQueue, currentTime);
+		}
+	}
+	
+	//generate the rest of the workload on a producer thread of its own. The processes are the same and
+	//reach the job queue at the same simulated times, the dispatcher only waits when the producer is behind.
+	//A trace is replayed on the dispatcher thread, and a pipelined generator can not be checkpointed.
+	public void startPipeline(int capacity) {
+		if (workloadTrace != null || processRing != null) {
+			return;
+		}
+		processRing = new ProcessRing(capacity);
+		recycledProcessRing = new ProcessRing(capacity);
+		producer = new Thread(new Runnable() {
+			public void run() {
+				try {
+					produce();
+				} catch (RuntimeException e) {
+					producerFailure = e;
+				} finally {
+					producerDone = true;
+				}
+			}
+		}, "ProcessGenerator producer");
+		producer.setDaemon(true);
+		producer.start();
+	}
+	
+	//stop the producer, e.g. when the simulation ends early
+	public void close() {
+		stopped = true;
+	}
+	
+	private void produce() {
+		while (!stopped && hasNextInWorkload()) {
+			ProcessControlBlock processControlBlock = recycledProcessRing.poll();
+			if (processControlBlock == null) {
+				processControlBlock = new ProcessControlBlock(workload.getPID(workloadIndex), ProcessStateEnum.NEW, 1);
+			}
+			else {
+				processControlBlock.reset(workload.getPID(workloadIndex), ProcessStateEnum.NEW, 1);
+			}
+			int burstTime = workload.getBurstTime(workloadIndex);
+			processControlBlock.setArrivalTime(workload.getArrivalTime(workloadIndex));
+			processControlBlock.setBurstTime(burstTime);
+			processControlBlock.setRemainingBurstTime(burstTime);
+			processControlBlock.setPriority(workload.getPriority(workloadIndex));
+			workloadIndex++;
+			int attempts = 0;
+			while (!processRing.offer(processControlBlock)) {
+				if (stopped) {
+					return;
+				}
+				backOff(attempts++);
+			}
+		}
+	}
+	
+	//next process of a pipelined generator without taking it, waiting while the producer is behind;
+	//null once the workload is exhausted
+	private ProcessControlBlock awaitNextProcess() {
+		int attempts = 0;
+		while (true) {
+			ProcessControlBlock processControlBlock = processRing.peek();
+			if (processControlBlock != null) {
+				return processControlBlock;
+			}
+			if (producerDone) {
+				if (producerFailure != null) {
+					throw producerFailure;
+				}
+				//the last processes may have been put into the ring just before
+				return processRing.peek();
+			}
+			backOff(attempts++);
+		}
+	}
+	
+	//spin briefly, then yield, then sleep, so that a waiting side does not hold a core for long
+	private static void backOff(int attempts) {
+		if (attempts < 100) {
+			Thread.onSpinWait();
+		}
+		else if (attempts < 200) {
+			Thread.yield();
+		}
+		else {
+			LockSupport.parkNanos(10000);
+		}
+	}
+	
+	//move the processes of the producer that have arrived by now into the available capacity of the job queue
+	private void releasePipelinedProcessArrivalInJobQueue(JobQueue jobQueue, long currentTime) {
+		//hand retired control blocks back to the producer; whatever does not fit is left to the garbage collector
+		ProcessControlBlock recycledProcessControlBlock;
+		while ((recycledProcessControlBlock = processControlTable.pollRecycledProcessControlBlock()) != null && recycledProcessRing.offer(recycledProcessControlBlock)) {
+		}
 		int capacity = jobQueue.getAvailableCapacity();
-		//simulate random process generation
-		int size = random.nextInt(capacity);
-		if (size > 0) {
-			ArrayList<ProcessControlBlock> processes = generate(capacity);		
-			//populate the job queue
-			Iterator<ProcessControlBlock> iterator = processes.iterator();
-		    while (iterator.hasNext()) {
-		    	ProcessControlBlock processControlBlock = iterator.next();		    	
-		        jobQueue.enqueue(processControlBlock);
-		        processControlTable.add(processControlBlock.getPID(), processControlBlock);
-		    }
-		}
-	}
-	
-	private ArrayList<ProcessControlBlock> generate(int numberOfProcesses) {	
-		ArrayList<ProcessControlBlock> processes = new ArrayList<ProcessControlBlock>();
-		for (int i = 0; i < numberOfProcesses; i++) {			
-			ProcessControlBlock processControlBlock = new ProcessControlBlock(processCounter, ProcessStateEnum.NEW, 1);			
-			processes.add(processControlBlock);	
-			if (processCounter == Helper.MAX_PROCESS) {
-				break;
+		ProcessControlBlock processControlBlock;
+		while (capacity > 0 && (processControlBlock = awaitNextProcess()) != null && processControlBlock.getArrivalTime() <= currentTime) {
+			processRing.poll();
+			jobQueue.enqueue(processControlBlock);
+			lastReleasedArrivalTime = processControlBlock.getArrivalTime();
+			processControlTable.add(processControlBlock.getPID(), processControlBlock);
+			processCounter++;
+			capacity--;
+		}
+	}
+	
+	//stream the trace records that have arrived by now into the available capacity of the job queue
+	public void replayProcessArrivalInJobQueue(JobQueue jobQueue, long currentTime) {
+		int capacity = jobQueue.getAvailableCapacity();
+		try {
+			while (capacity > 0 && workloadTrace.hasNext() && workloadTrace.peekArrivalTime() <= currentTime) {
+				workloadTrace.next(record);
+				ProcessControlBlock processControlBlock = processControlTable.newProcessControlBlock((int)record[0]);
+				processControlBlock.setArrivalTime(record[1]);
+				processControlBlock.setBurstTime((int)record[2]);
+				processControlBlock.setRemainingBurstTime((int)record[2]);
+				processControlBlock.setPriority((int)record[3]);
+				jobQueue.enqueue(processControlBlock);
+				lastReleasedArrivalTime = record[1];
+				processControlTable.add(processControlBlock.getPID(), processControlBlock);
+				processCounter++;
+				capacity--;
+			}
+			if (!workloadTrace.hasNext()) {
+				workloadTrace.close();
 			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	//move the processes of the workload that have arrived by now into the available capacity of the job queue
+	public void releaseProcessArrivalInJobQueue(JobQueue jobQueue, long currentTime) {		
+		int capacity = jobQueue.getAvailableCapacity();
+		while (capacity > 0 && hasNextInWorkload() && workload.getArrivalTime(workloadIndex) <= currentTime) {
+			ProcessControlBlock processControlBlock = processControlTable.newProcessControlBlock(workload.getPID(workloadIndex));
+			int burstTime = workload.getBurstTime(workloadIndex);
+			processControlBlock.setArrivalTime(workload.getArrivalTime(workloadIndex));
+			processControlBlock.setBurstTime(burstTime);
+			processControlBlock.setRemainingBurstTime(burstTime);
+			processControlBlock.setPriority(workload.getPriority(workloadIndex));
+			jobQueue.enqueue(processControlBlock);
+			lastReleasedArrivalTime = processControlBlock.getArrivalTime();
+			processControlTable.add(processControlBlock.getPID(), processControlBlock);
+			workloadIndex++;
 			processCounter++;
+			capacity--;
 		}
-		
-		/*TEST Code
-		 * ProcessControlBlock processControlBlock = new ProcessControlBlock(1,
-		 * ProcessStateEnum.NEW, 1); processControlBlock.setArrivalTime(0);
-		 * processControlBlock.setBurstTime(7);
-		 * processControlBlock.setRemainingBurstTime(7);
-		 * processControlBlock.setPriority(7); processes.add(processControlBlock);
-		 * processCounter++;
-		 * 
-		 * processControlBlock = new ProcessControlBlock(2, ProcessStateEnum.NEW, 1);
-		 * processControlBlock.setArrivalTime(4); processControlBlock.setBurstTime(4);
-		 * processControlBlock.setRemainingBurstTime(4);
-		 * processControlBlock.setPriority(4); processes.add(processControlBlock);
-		 * processCounter++;
-		 * 
-		 * processControlBlock = new ProcessControlBlock(3, ProcessStateEnum.NEW, 1);
-		 * processControlBlock.setArrivalTime(5); processControlBlock.setBurstTime(1);
-		 * processControlBlock.setRemainingBurstTime(1);
-		 * processControlBlock.setPriority(1); processes.add(processControlBlock);
-		 * processCounter++;
-		 * 
-		 * processControlBlock = new ProcessControlBlock(4, ProcessStateEnum.NEW, 1);
-		 * processControlBlock.setArrivalTime(9); processControlBlock.setBurstTime(1);
-		 * processControlBlock.setRemainingBurstTime(1);
-		 * processControlBlock.setPriority(1); processes.add(processControlBlock);
-		 * processCounter++;
-		 * 
-		 * processControlBlock = new ProcessControlBlock(5, ProcessStateEnum.NEW, 1);
-		 * processControlBlock.setArrivalTime(12); processControlBlock.setBurstTime(3);
-		 * processControlBlock.setRemainingBurstTime(3);
-		 * processControlBlock.setPriority(3); processes.add(processControlBlock);
-		 * processCounter++;
-		 */
-		
-		return processes;
+	}
+	
+	//position in the workload; a generated workload is regenerated from the configuration on restore,
+	//an unbounded one carries its random state and the rest of its current chunk
+	public void writeCheckpoint(DataOutput output) throws IOException {
+		output.writeInt(processCounter);
+		output.writeLong(lastReleasedArrivalTime);
+		if (workloadTrace != null) {
+			output.writeLong(workloadTrace.getPosition());
+			return;
+		}
+		output.writeInt(workloadIndex);
+		if (random != null) {
+			ByteArrayOutputStream randomState = new ByteArrayOutputStream();
+			try (ObjectOutputStream objectOutput = new ObjectOutputStream(randomState)) {
+				objectOutput.writeObject(random);
+			}
+			output.writeInt(randomState.size());
+			output.write(randomState.toByteArray());
+			int remaining = workload.getSize() - workloadIndex;
+			output.writeInt(workload.getPID(workloadIndex));
+			output.writeLong(workload.getEndTime());
+			output.writeInt(remaining);
+			for (int i = workloadIndex; i < workload.getSize(); i++) {
+				output.writeLong(workload.getArrivalTime(i));
+				output.writeInt(workload.getBurstTime(i));
+				output.writeInt(workload.getPriority(i));
+			}
+		}
+	}
+	
+	public void readCheckpoint(DataInput input) throws IOException {
+		processCounter = input.readInt();
+		lastReleasedArrivalTime = input.readLong();
+		if (workloadTrace != null) {
+			workloadTrace.seek(input.readLong());
+			return;
+		}
+		workloadIndex = input.readInt();
+		if (random != null) {
+			byte[] randomState = new byte[input.readInt()];
+			input.readFully(randomState);
+			try (ObjectInputStream objectInput = new ObjectInputStream(new ByteArrayInputStream(randomState))) {
+				random = (Random)objectInput.readObject();
+			} catch (ClassNotFoundException e) {
+				throw new IOException(e);
+			}
+			int firstPID = input.readInt();
+			long endTime = input.readLong();
+			int remaining = input.readInt();
+			long[] arrivalTimes = new long[remaining];
+			int[] burstTimes = new int[remaining];
+			int[] priorities = new int[remaining];
+			for (int i = 0; i < remaining; i++) {
+				arrivalTimes[i] = input.readLong();
+				burstTimes[i] = input.readInt();
+				priorities[i] = input.readInt();
+			}
+			workload = new Workload(firstPID, arrivalTimes, burstTimes, priorities, endTime);
+			workloadIndex = 0;
+		}
+	}
+	
+	//true when the workload has another process, generating the next chunk of an unbounded workload if needed
+	private boolean hasNextInWorkload() {
+		if (workloadIndex == workload.getSize() && random != null) {
+			workload = Workload.generate(random, workload.getFirstPID() + workload.getSize(), workload.getEndTime(), WORKLOAD_CHUNK_SIZE, simulationConfiguration);
+			workloadIndex = 0;
+		}
+		return workloadIndex < workload.getSize();
 	}
 }
@@ -0,0 +1,113 @@
+import java.util.Arrays;
+import java.util.List;
+
+//Open addressing hash map from pid to process control block. The pid is read from the control block,
+//so there are no boxed keys and no entry objects; adding and removing processes allocates nothing
+//once the table has grown to the number of processes alive at the same time.
+public class ProcessIdMap {
+
+	private static final int INITIAL_CAPACITY = 16; //power of two, kept at most half full
+	private ProcessControlBlock[] slots;
+	private int size;
+
+	public ProcessIdMap() {
+		this.slots = new ProcessControlBlock[INITIAL_CAPACITY];
+		this.size = 0;
+	}
+
+	//add or replace the process with the pid of the given control block, returns the replaced one
+	public ProcessControlBlock put(ProcessControlBlock processControlBlock) {
+		int pid = processControlBlock.getPID();
+		int mask = slots.length - 1;
+		for (int slot = hash(pid) & mask; ; slot = (slot + 1) & mask) {
+			ProcessControlBlock current = slots[slot];
+			if (current == null) {
+				slots[slot] = processControlBlock;
+				if (++size > slots.length / 2) {
+					resize(slots.length * 2);
+				}
+				return null;
+			}
+			if (current.getPID() == pid) {
+				slots[slot] = processControlBlock;
+				return current;
+			}
+		}
+	}
+
+	public ProcessControlBlock get(int pid) {
+		int mask = slots.length - 1;
+		for (int slot = hash(pid) & mask; ; slot = (slot + 1) & mask) {
+			ProcessControlBlock current = slots[slot];
+			if (current == null || current.getPID() == pid) {
+				return current;
+			}
+		}
+	}
+
+	public ProcessControlBlock remove(int pid) {
+		int mask = slots.length - 1;
+		for (int slot = hash(pid) & mask; ; slot = (slot + 1) & mask) {
+			ProcessControlBlock current = slots[slot];
+			if (current == null) {
+				return null;
+			}
+			if (current.getPID() == pid) {
+				closeGap(slot);
+				size--;
+				return current;
+			}
+		}
+	}
+
+	//shift the following entries of the probe sequence back so that lookups never need tombstones
+	private void closeGap(int gap) {
+		int mask = slots.length - 1;
+		for (int slot = (gap + 1) & mask; slots[slot] != null; slot = (slot + 1) & mask) {
+			int home = hash(slots[slot].getPID()) & mask;
+			//move the entry unless its home lies cyclically in (gap, slot]
+			if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+				slots[gap] = slots[slot];
+				gap = slot;
+			}
+		}
+		slots[gap] = null;
+	}
+
+	private void resize(int capacity) {
+		ProcessControlBlock[] oldSlots = slots;
+		slots = new ProcessControlBlock[capacity];
+		int mask = capacity - 1;
+		for (ProcessControlBlock processControlBlock : oldSlots) {
+			if (processControlBlock != null) {
+				int slot = hash(processControlBlock.getPID()) & mask;
+				while (slots[slot] != null) {
+					slot = (slot + 1) & mask;
+				}
+				slots[slot] = processControlBlock;
+			}
+		}
+	}
+
+	private static int hash(int pid) {
+		int hash = pid * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	//snapshot of the processes ordered by pid, for exports and checkpoints
+	public List<ProcessControlBlock> values() {
+		ProcessControlBlock[] processControlBlocks = new ProcessControlBlock[size];
+		int i = 0;
+		for (ProcessControlBlock processControlBlock : slots) {
+			if (processControlBlock != null) {
+				processControlBlocks[i++] = processControlBlock;
+			}
+		}
+		Arrays.sort(processControlBlocks, new ProcessPIdComparator());
+		return Arrays.asList(processControlBlocks);
+	}
+}
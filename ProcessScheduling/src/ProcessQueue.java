@@ -1,12 +1,18 @@
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
 
 public abstract class ProcessQueue {	
 		
 	protected Queue<ProcessControlBlock> processQueue;	 
+	protected int capacity;
+	protected float thresholdCapacity;
 		
-	public ProcessQueue(Queue<ProcessControlBlock> processQueue) {		
+	public ProcessQueue(Queue<ProcessControlBlock> processQueue, int capacity, float thresholdCapacity) {		
 		this.processQueue = processQueue;
+		this.capacity = capacity;
+		this.thresholdCapacity = thresholdCapacity;
 	}
 		
 	protected abstract int getAvailableCapacity();
@@ -29,10 +35,46 @@ public abstract class ProcessQueue {
 		return processQueue.poll();
 	}
 	
+	//move up to maxProcesses processes, in the order they would be dequeued, into the given queue
+	public int drainTo(ProcessQueue processQueue, int maxProcesses) {
+		return drainTo(processQueue.processQueue, maxProcesses);
+	}
+	
+	//a blocking queue is drained under a single lock instead of one per process
+	@SuppressWarnings("unchecked")
+	public int drainTo(Collection<ProcessControlBlock> processControlBlocks, int maxProcesses) {
+		if (maxProcesses <= 0) {
+			return 0;
+		}
+		if (processQueue instanceof BlockingQueue) {
+			return ((BlockingQueue<ProcessControlBlock>)processQueue).drainTo(processControlBlocks, maxProcesses);
+		}
+		int count = 0;
+		ProcessControlBlock processControlBlock;
+		while (count < maxProcesses && (processControlBlock = processQueue.poll()) != null) {
+			processControlBlocks.add(processControlBlock);
+			count++;
+		}
+		return count;
+	}
+	
 	public void remove(ProcessControlBlock processControlBlock) {
 		processQueue.remove(processControlBlock);
 	}
 	
+	//re-establish the order after the key of a queued process changed
+	public void reprioritize(ProcessControlBlock processControlBlock) {
+		if (processQueue instanceof IndexedPriorityQueue) {
+			((IndexedPriorityQueue)processQueue).update(processControlBlock);
+		}
+		else if (processQueue instanceof SortKeyPriorityQueue) {
+			((SortKeyPriorityQueue)processQueue).update(processControlBlock);
+		}
+		else if (processQueue.remove(processControlBlock)) {
+			processQueue.add(processControlBlock);
+		}
+	}
+	
 	public boolean isEmpty() {
 		return processQueue.isEmpty();
 	}
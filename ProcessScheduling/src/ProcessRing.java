@@ -0,0 +1,62 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+//Bounded lock-free ring that hands process control blocks from exactly one producer thread to exactly one
+//consumer thread. Each side only writes its own index and publishes it with an ordered store, which also
+//publishes the control block written before it; the other side's index is cached and only re-read when
+//the ring looks full or empty.
+public class ProcessRing {
+
+	private ProcessControlBlock[] buffer;
+	private int mask;
+	private AtomicLong head = new AtomicLong(); //next slot to poll, written by the consumer only
+	private AtomicLong tail = new AtomicLong(); //next slot to offer, written by the producer only
+	private long cachedHead; //producer's last view of head
+	private long cachedTail; //consumer's last view of tail
+
+	//the capacity is rounded up to a power of two
+	public ProcessRing(int capacity) {
+		this.buffer = new ProcessControlBlock[Integer.highestOneBit(Math.max(2, capacity) * 2 - 1)];
+		this.mask = buffer.length - 1;
+	}
+
+	//producer only: false when the ring is full
+	public boolean offer(ProcessControlBlock processControlBlock) {
+		long currentTail = tail.get();
+		if (currentTail - cachedHead == buffer.length) {
+			cachedHead = head.get();
+			if (currentTail - cachedHead == buffer.length) {
+				return false;
+			}
+		}
+		buffer[(int)currentTail & mask] = processControlBlock;
+		tail.lazySet(currentTail + 1);
+		return true;
+	}
+
+	//consumer only: the next control block without taking it, null when the ring is empty
+	public ProcessControlBlock peek() {
+		long currentHead = head.get();
+		if (currentHead == cachedTail) {
+			cachedTail = tail.get();
+			if (currentHead == cachedTail) {
+				return null;
+			}
+		}
+		return buffer[(int)currentHead & mask];
+	}
+
+	//consumer only: take the next control block, null when the ring is empty
+	public ProcessControlBlock poll() {
+		ProcessControlBlock processControlBlock = peek();
+		if (processControlBlock != null) {
+			long currentHead = head.get();
+			buffer[(int)currentHead & mask] = null;
+			head.lazySet(currentHead + 1);
+		}
+		return processControlBlock;
+	}
+
+	public int getCapacity() {
+		return buffer.length;
+	}
+}
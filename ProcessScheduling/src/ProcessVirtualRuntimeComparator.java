@@ -0,0 +1,19 @@
+import java.util.Comparator;
+
+public class ProcessVirtualRuntimeComparator implements Comparator<ProcessControlBlock> {
+	
+	@Override
+	public int compare(ProcessControlBlock process1, ProcessControlBlock process2) {
+        if (process1.getVirtualRuntime() > process2.getVirtualRuntime()) 
+            return 1; 
+        else if (process1.getVirtualRuntime() < process2.getVirtualRuntime()) 
+            return -1; 
+        else
+        	if (process1.getPID() > process2.getPID()) 
+                return 1; 
+            else if (process1.getPID() < process2.getPID()) 
+                return -1; 
+            else
+                return 0;  
+	}
+}
@@ -5,41 +5,45 @@ import java.util.Queue;
 public class ReadyQueue extends ProcessQueue {
 		
 	public ReadyQueue(Queue<ProcessControlBlock> processQueue) {
-		super(processQueue);
+		super(processQueue, Helper.READY_QUEUE_CAPACITY, Helper.THRESHOLD_CAPACITY);
+	}
+	
+	public ReadyQueue(Queue<ProcessControlBlock> processQueue, SimulationConfiguration simulationConfiguration) {
+		super(processQueue, simulationConfiguration.getReadyQueueCapacity(), simulationConfiguration.getThresholdCapacity());
 	}
 			
 	@Override
 	public int getAvailableCapacity() {
-		return Helper.READY_QUEUE_CAPACITY - processQueue.size();
+		return capacity - processQueue.size();
 	}
 	
 	@Override
 	public boolean isBelowThresholdCapacity() {
-		double percentageAvailableCapacity = processQueue.size() / (float)Helper.READY_QUEUE_CAPACITY;
-		if (percentageAvailableCapacity < Helper.THRESHOLD_CAPACITY)
+		double percentageAvailableCapacity = processQueue.size() / (float)capacity;
+		if (percentageAvailableCapacity < thresholdCapacity)
 			return true; 
 		else
 			return false;
 	}
 	
-	public void displayReadyQueue(SchedulerTypeEnum schedulerTypeEnum) {				
+	public void displayReadyQueue(ReportBuffer reportBuffer, SchedulerTypeEnum schedulerTypeEnum) {				
 		Iterator<ProcessControlBlock> iterator = processQueue.iterator();
 		int i = 0;
 		if (iterator.hasNext()) {
 			while (iterator.hasNext()) {
 				ProcessControlBlock processControlBlock = iterator.next();
 				if (i == 0) {
-					System.out.print(schedulerTypeEnum.toString() + " Ready Queue: |  P" + processControlBlock.getPID());
+					reportBuffer.print(schedulerTypeEnum.toString() + " Ready Queue: |  P" + processControlBlock.getPID());
 				}	
 				else {
-					System.out.print("  |  P" + processControlBlock.getPID());
+					reportBuffer.print("  |  P" + processControlBlock.getPID());
 				}
 		        i++;
 		    }
-			System.out.println("  |");
+			reportBuffer.println("  |");
 		}
 		else {
-			System.out.println("Ready Queue: Empty");
+			reportBuffer.println("Ready Queue: Empty");
 		}
 	}
 }
@@ -0,0 +1,57 @@
+import java.util.concurrent.LinkedBlockingQueue;
+
+//Report buffer written by one scheduler thread and drained by the reporter; the scheduler only
+//waits when it is a full buffer of reports ahead of the reporter, which bounds memory on long runs
+public class ReportBuffer {
+	
+	private static final String END_OF_REPORTS = new String();
+	private StringBuilder report;
+	private LinkedBlockingQueue<String> reports;
+	
+	public ReportBuffer() {
+		this.report = new StringBuilder();
+		this.reports = new LinkedBlockingQueue<String>(Helper.REPORT_BUFFER_CAPACITY);
+	}
+	
+	public void print(String text) {
+		report.append(text);
+	}
+	
+	public void println(String text) {
+		report.append(text).append(System.lineSeparator());
+	}
+	
+	public void println() {
+		report.append(System.lineSeparator());
+	}
+	
+	//publish the report written so far
+	public void flush() {
+		put(report.toString());
+		report.setLength(0);
+	}
+	
+	//no more reports would be published
+	public void close() {
+		put(END_OF_REPORTS);
+	}
+	
+	//a report is never dropped: an interrupted scheduler fails instead of publishing a partial report stream
+	private void put(String nextReport) {
+		try {
+			reports.put(nextReport);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while publishing a report", e);
+		}
+	}
+	
+	//wait for the next report; null once the buffer is closed
+	public String take() throws InterruptedException {
+		String nextReport = reports.take();
+		if (nextReport == END_OF_REPORTS) {
+			return null;
+		}
+		return nextReport;
+	}
+}
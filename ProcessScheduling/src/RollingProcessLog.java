@@ -0,0 +1,83 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+//Append-only log of retired processes that rolls over to a single backup file once it reaches its size limit.
+//Each record is pid as a big-endian int, arrival time as a long, priority and burst time as ints, and start time,
+//completion time, response time, wait time and turn around time as longs.
+public class RollingProcessLog {
+	
+	public static final int RECORD_SIZE = 60;
+	private File file;
+	private File backupFile;
+	private long maxFileSize;
+	private long fileSize;
+	private DataOutputStream output;
+	
+	public RollingProcessLog(String path, long maxFileSize) throws IOException {
+		this.file = new File(path);
+		this.backupFile = new File(path + ".1");
+		this.maxFileSize = Math.max(RECORD_SIZE, maxFileSize);
+		open();
+	}
+	
+	//reopen a log to append after its first fileSize bytes, dropping anything written later
+	public RollingProcessLog(String path, long maxFileSize, long fileSize) throws IOException {
+		this.file = new File(path);
+		this.backupFile = new File(path + ".1");
+		this.maxFileSize = Math.max(RECORD_SIZE, maxFileSize);
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+			randomAccessFile.setLength(fileSize);
+		}
+		this.output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true), 1 << 16));
+		this.fileSize = fileSize;
+	}
+	
+	public void write(ProcessControlBlock processControlBlock) throws IOException {
+		if (fileSize + RECORD_SIZE > maxFileSize) {
+			roll();
+		}
+		output.writeInt(processControlBlock.getPID());
+		output.writeLong(processControlBlock.getArrivalTime());
+		output.writeInt(processControlBlock.getPriority());
+		output.writeInt(processControlBlock.getBurstTime());
+		output.writeLong(processControlBlock.getStartTime());
+		output.writeLong(processControlBlock.getCompletionTime());
+		output.writeLong(processControlBlock.getResponseTime());
+		output.writeLong(processControlBlock.getWaitTime());
+		output.writeLong(processControlBlock.getTurnAroundTime());
+		fileSize += RECORD_SIZE;
+	}
+	
+	public void flush() throws IOException {
+		output.flush();
+	}
+	
+	public void close() throws IOException {
+		output.close();
+	}
+	
+	public long getFileSize() {
+		return fileSize;
+	}
+	
+	private void open() throws IOException {
+		this.output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+		this.fileSize = 0;
+	}
+	
+	//keep the full file as the backup and start a new one
+	private void roll() throws IOException {
+		output.close();
+		if (backupFile.exists() && !backupFile.delete()) {
+			throw new IOException("Cannot delete " + backupFile);
+		}
+		if (!file.renameTo(backupFile)) {
+			throw new IOException("Cannot rename " + file + " to " + backupFile);
+		}
+		open();
+	}
+}
@@ -1,9 +1,13 @@
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.ArrayDeque;
 
-public class RoundRobinScheduling extends Scheduling {	
+public class RoundRobinScheduling extends CoreScheduling {	
 		
 	public RoundRobinScheduling(Metrics metrics, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {
-		super(new ReadyQueue(new LinkedBlockingQueue<ProcessControlBlock>()), metrics, threadSequence, schedulerTypeEnum);
+		this(metrics, threadSequence, schedulerTypeEnum, new SimulationConfiguration());
+	}
+	
+	public RoundRobinScheduling(Metrics metrics, int threadSequence, SchedulerTypeEnum schedulerTypeEnum, SimulationConfiguration simulationConfiguration) {
+		super(new ReadyQueue(new ArrayDeque<ProcessControlBlock>(), simulationConfiguration), metrics, threadSequence, schedulerTypeEnum, simulationConfiguration);
 	}		
 		
 	@Override
@@ -40,9 +44,10 @@ public class RoundRobinScheduling extends Scheduling {
 		if (scheduledProcess != null) {
 			//start executing the scheduled process
 			int remainingBurstTime = scheduledProcess.getRemainingBurstTime();
-			if (remainingBurstTime > Helper.QUANTUM) {
-				currentTime += Helper.QUANTUM - 1;
-				remainingBurstTime -= Helper.QUANTUM;			
+			long quantum = simulationConfiguration.getQuantum();
+			if (remainingBurstTime > quantum) {
+				currentTime += quantum - 1;
+				remainingBurstTime -= quantum;			
 			} 
 			else {
 				currentTime += remainingBurstTime - 1;
@@ -56,7 +61,7 @@ public class RoundRobinScheduling extends Scheduling {
 			}
 			scheduledProcess.setRemainingBurstTime(remainingBurstTime);
 			scheduledProcess.setBurstEndTime(currentTime);
-			ganttChartQueue.enqueue(new ProcessControlBlock(scheduledProcess.getPID(), scheduledProcess.getBurstStartTime(), scheduledProcess.getBurstEndTime()));
+			ganttChartQueue.record(scheduledProcess.getPID(), scheduledProcess.getBurstStartTime(), scheduledProcess.getBurstEndTime());
 		}
 		currentTime++;
 	}
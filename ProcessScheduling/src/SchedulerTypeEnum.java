@@ -4,7 +4,9 @@ public enum SchedulerTypeEnum {
 	FIRST_COME_FIRST_SERVE(0),
 	ROUND_ROBIN(1),
 	SHORTEST_REMAINING_TIME_FIRST(2),
-	PRIORITY(3);
+	PRIORITY(3),
+	MULTILEVEL_FEEDBACK_QUEUE(4),
+	COMPLETELY_FAIR(5);
 	
 	private int value;
 	
@@ -1,13 +1,19 @@
-import java.util.LinkedList;
-import java.util.Random;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.PriorityBlockingQueue;
 
 public abstract class Scheduling implements Runnable {
 		
 	protected int contextSwitchCount;
-	protected int currentTime;
+	protected long currentTime;
 	protected int threadSequence;
-	private Random random;	
 	protected ProcessGenerator processGenerator;
 	protected ProcessControlTable processControlTable;
 	protected JobQueue jobQueue;
@@ -15,75 +21,266 @@ public abstract class Scheduling implements Runnable {
 	protected GanttChartQueue ganttChartQueue;
 	protected Metrics metrics;	
 	protected SchedulerTypeEnum schedulerTypeEnum;
+	protected SimulationConfiguration simulationConfiguration;
+	protected SchedulingMonitor schedulingMonitor;
+	protected Checkpoint checkpoint; //null when the run is not checkpointed
+	protected TimeSeriesSampler timeSeriesSampler; //null when the run is not sampled
+	protected PhaseProfiler phaseProfiler = new PhaseProfiler();
+	private ArrayList<ProcessControlBlock> admittedProcesses = new ArrayList<ProcessControlBlock>(); //reused for every traced admission
+	private long nextCheckpointTime;
+	protected boolean restored; //the job queue was restored from a checkpoint instead of populated
 	
-	public Scheduling(ReadyQueue readyQueue, Metrics metrics, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {		
+	public Scheduling(ReadyQueue readyQueue, Metrics metrics, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {
+		this(readyQueue, metrics, threadSequence, schedulerTypeEnum, new SimulationConfiguration());
+	}
+	
+	public Scheduling(ReadyQueue readyQueue, Metrics metrics, int threadSequence, SchedulerTypeEnum schedulerTypeEnum, SimulationConfiguration simulationConfiguration) {		
 		this.contextSwitchCount = 0;
 		this.currentTime = 0;	
 		this.threadSequence = threadSequence;
-		this.random = new Random(Helper.RANDOM_SEED);
-		this.processControlTable = new ProcessControlTable();
-		this.processGenerator = new ProcessGenerator(random, processControlTable);	
-		this.jobQueue = new JobQueue(new PriorityBlockingQueue<ProcessControlBlock>(Helper.JOB_QUEUE_CAPACITY, new ProcessPIdComparator()));
+		this.simulationConfiguration = simulationConfiguration;
+		this.processControlTable = createProcessControlTable(simulationConfiguration);
+		this.processGenerator = createProcessGenerator(simulationConfiguration);	
+		this.jobQueue = new JobQueue(new PriorityBlockingQueue<ProcessControlBlock>(simulationConfiguration.getJobQueueCapacity(), new ProcessPIdComparator()), simulationConfiguration);
 		this.readyQueue = readyQueue;	
-		this.ganttChartQueue = new GanttChartQueue(new LinkedList<ProcessControlBlock>());
+		this.ganttChartQueue = new GanttChartQueue();
 		this.metrics = metrics;		
 		this.schedulerTypeEnum = schedulerTypeEnum;
+		this.schedulingMonitor = new SchedulingMonitor(schedulerTypeEnum, phaseProfiler);
+		if (simulationConfiguration.getCheckpointFile() != null) {
+			this.checkpoint = new Checkpoint(simulationConfiguration.getCheckpointFile());
+			this.nextCheckpointTime = simulationConfiguration.getCheckpointInterval();
+			processControlTable.trackCheckpointedProcesses();
+		}
+		if (simulationConfiguration.getSamplingInterval() > 0) {
+			this.timeSeriesSampler = new TimeSeriesSampler(simulationConfiguration.getSamplingInterval(), simulationConfiguration.getSampleCapacity());
+		}
 	}
 		
-	protected abstract ProcessControlBlock runCPUScheduler();
+	public static Scheduling createScheduling(SchedulerTypeEnum schedulerTypeEnum, Metrics metrics, int threadSequence) {
+		return createScheduling(schedulerTypeEnum, metrics, threadSequence, new SimulationConfiguration());
+	}
+	
+	public static Scheduling createScheduling(SchedulerTypeEnum schedulerTypeEnum, Metrics metrics, int threadSequence, SimulationConfiguration simulationConfiguration) {
+		if (simulationConfiguration.getNumberOfCores() > 1) {
+			return new MultiCoreScheduling(metrics, threadSequence, schedulerTypeEnum, simulationConfiguration);
+		}
+		return createCoreScheduling(schedulerTypeEnum, metrics, threadSequence, simulationConfiguration);
+	}
+	
+	//single CPU scheduler for the given policy
+	protected static CoreScheduling createCoreScheduling(SchedulerTypeEnum schedulerTypeEnum, Metrics metrics, int threadSequence, SimulationConfiguration simulationConfiguration) {
+		switch (schedulerTypeEnum) {
+		case FIRST_COME_FIRST_SERVE:
+			return new FirstComeFirstServeScheduling(metrics, threadSequence, schedulerTypeEnum, simulationConfiguration);
+		case ROUND_ROBIN:
+			return new RoundRobinScheduling(metrics, threadSequence, schedulerTypeEnum, simulationConfiguration);
+		case SHORTEST_REMAINING_TIME_FIRST:
+			return new ShortestRemainingTimeFirstScheduling(metrics, threadSequence, schedulerTypeEnum, simulationConfiguration);
+		case PRIORITY:
+			return new PriorityScheduling(metrics, threadSequence, schedulerTypeEnum, simulationConfiguration);
+		case MULTILEVEL_FEEDBACK_QUEUE:
+			return new MultilevelFeedbackQueueScheduling(metrics, threadSequence, schedulerTypeEnum, simulationConfiguration);
+		case COMPLETELY_FAIR:
+			return new CompletelyFairScheduling(metrics, threadSequence, schedulerTypeEnum, simulationConfiguration);
+		default:
+			throw new IllegalArgumentException("Unknown scheduler type: " + schedulerTypeEnum);
+		}
+	}
+	
+	private static ProcessControlTable createProcessControlTable(SimulationConfiguration simulationConfiguration) {
+		RollingProcessLog rollingProcessLog = null;
+		if (simulationConfiguration.isRetireTerminatedProcesses() && simulationConfiguration.getSpillFile() != null) {
+			try {
+				rollingProcessLog = new RollingProcessLog(simulationConfiguration.getSpillFile(), simulationConfiguration.getMaxSpillFileSize());
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		return new ProcessControlTable(simulationConfiguration.isRetireTerminatedProcesses(), rollingProcessLog);
+	}
+	
+	private ProcessGenerator createProcessGenerator(SimulationConfiguration simulationConfiguration) {
+		if (simulationConfiguration.getWorkload() != null) {
+			//shared with the other schedulers
+			return new ProcessGenerator(processControlTable, simulationConfiguration.getWorkload());
+		}
+		if (simulationConfiguration.getTraceFile() == null) {
+			if (simulationConfiguration.getMaxProcess() == -1) {
+				return new ProcessGenerator(processControlTable, simulationConfiguration);
+			}
+			return new ProcessGenerator(processControlTable, Workload.generate(simulationConfiguration));
+		}
+		try {
+			return new ProcessGenerator(processControlTable, new WorkloadTrace(simulationConfiguration.getTraceFile()));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	//ready queue ordered by the given comparator, indexed when Helper.INDEXED_READY_QUEUE is set
+	//and ordered on packed keys as well when Helper.PACKED_SORT_KEYS is set
+	protected static Queue<ProcessControlBlock> createReadyPriorityQueue(Comparator<ProcessControlBlock> comparator, SimulationConfiguration simulationConfiguration) {
+		if (Helper.INDEXED_READY_QUEUE) {
+			if (Helper.PACKED_SORT_KEYS && comparator instanceof SortKeyComparator) {
+				return new SortKeyPriorityQueue(simulationConfiguration.getReadyQueueCapacity(), (SortKeyComparator)comparator);
+			}
+			return new IndexedPriorityQueue(simulationConfiguration.getReadyQueueCapacity(), comparator);
+		}
+		return new PriorityBlockingQueue<ProcessControlBlock>(simulationConfiguration.getReadyQueueCapacity(), comparator);
+	}
 	
-	protected abstract void runDispatcher(ProcessControlBlock selectedProcess);	
+	//the simulation loop, run on the thread of the scheduler
+	protected abstract void simulate();
 		
 	public void run() {	
-		//this would generate new processes and populate job queue
-		processGenerator.randomizeProcessArrivalInJobQueue(jobQueue);
-		while(true) {								
-			//run job scheduler to populate ready queue
-			runJobScheduler();		
-			while(!readyQueue.isEmpty() || processControlTable.getRunningProcessControlBlock() != null) {				
-				ProcessControlBlock processControlBlock = runCPUScheduler();
-				runDispatcher(processControlBlock);
-				//run job scheduler when ready queue falls below threshold
-				if (readyQueue.isBelowThresholdCapacity()) {					
-					runJobScheduler();
+		if (Helper.MONITORING) {
+			schedulingMonitor.register();
+		}
+		//a checkpoint needs the generator's position, which a pipelined generator runs ahead of
+		if (simulationConfiguration.isPipelinedGeneration() && checkpoint == null) {
+			processGenerator.startPipeline(simulationConfiguration.getPipelineCapacity());
+		}
+		try {
+			simulate();
+		}
+		finally {
+			processGenerator.close();
+			closeTimeSeries();
+			if (!phaseProfiler.isEmpty()) {
+				metrics.displayPhaseTimes(phaseProfiler, threadSequence, schedulerTypeEnum);
+			}
+			schedulingMonitor.publish(this);
+			schedulingMonitor.unregister();
+			if (checkpoint != null) {
+				try {
+					checkpoint.close();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
 				}
 			}
-			
-//			metrics.displayCurrentEvent(processControlTable, currentTime, threadSequence, schedulerTypeEnum);
-//			metrics.displayReadyQueue(readyQueue, threadSequence, schedulerTypeEnum);
-//			metrics.displayGanttChartQueue(ganttChartQueue, threadSequence, schedulerTypeEnum);
-			metrics.displayAccountingInformation(processControlTable, contextSwitchCount, currentTime, threadSequence, schedulerTypeEnum);
-							
-			if (processGenerator.getProcessCounter() == Helper.MAX_PROCESS) {
-				break;
+			processControlTable.close();
+			//let the reporter move past this scheduler
+			metrics.close(threadSequence);
+		}
+	}
+	
+	//account a dispatcher step that executed the given burst units to the current window of the time series
+	protected void recordTimeSeries(int executedBurstTime) {
+		timeSeriesSampler.record(currentTime, executedBurstTime, readyQueue.getSize(), jobQueue.getSize(), processControlTable.getAccountingInformation().getProcessCount(), contextSwitchCount);
+	}
+	
+	//close the last window and export the time series
+	protected void closeTimeSeries() {
+		if (timeSeriesSampler == null) {
+			return;
+		}
+		if (timeSeriesSampler.getSampleCount() == 0 || timeSeriesSampler.getEndTime(timeSeriesSampler.getSize() - 1) < currentTime) {
+			timeSeriesSampler.sample(currentTime, readyQueue.getSize(), jobQueue.getSize(), processControlTable.getAccountingInformation().getProcessCount(), contextSwitchCount);
+		}
+		if (simulationConfiguration.getTimeSeriesFile() != null) {
+			try {
+				timeSeriesSampler.export(simulationConfiguration.getTimeSeriesFile());
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
 			}
-			currentTime++;
-			
-			//this would generate new processes and populate job queue
-			processGenerator.randomizeProcessArrivalInJobQueue(jobQueue);
-//			try {
-//				Thread.sleep(2000);
-//			} catch (InterruptedException e) {
-//				// TODO Auto-generated catch block
-//				e.printStackTrace();
-//			}
 		}
 	}
-		
+	
+	public TimeSeriesSampler getTimeSeriesSampler() {
+		return timeSeriesSampler;
+	}
+	
+	//snapshot the run once the checkpoint interval has passed; only called where no process is running
+	protected void takeCheckpoint() {
+		if (checkpoint != null && currentTime >= nextCheckpointTime) {
+			nextCheckpointTime = currentTime + simulationConfiguration.getCheckpointInterval();
+			checkpoint.write(this);
+		}
+	}
+	
+	protected void writeCheckpoint(DataOutput output) throws IOException {
+		output.writeLong(currentTime);
+		output.writeInt(contextSwitchCount);
+		output.writeLong(nextCheckpointTime);
+		processControlTable.getAccountingInformation().writeCheckpoint(output);
+		//terminated processes are in the checkpoint's terminated file, the Gantt chart is written by the checkpoint
+		int liveProcessCount = processControlTable.getLiveProcessCount();
+		output.writeInt(liveProcessCount);
+		for (int i = 0; i < liveProcessCount; i++) {
+			Checkpoint.writeProcessControlBlock(output, processControlTable.getLiveProcess(i));
+		}
+		writeSchedulerState(output);
+		//queue order is kept, so tie-breaking after a restore is unchanged
+		writeQueue(output, jobQueue);
+		writeQueue(output, readyQueue);
+		processGenerator.writeCheckpoint(output);
+		output.writeBoolean(timeSeriesSampler != null);
+		if (timeSeriesSampler != null) {
+			timeSeriesSampler.writeCheckpoint(output);
+		}
+	}
+	
+	protected void readCheckpoint(DataInput input, List<ProcessControlBlock> terminatedProcesses) throws IOException {
+		currentTime = input.readLong();
+		contextSwitchCount = input.readInt();
+		nextCheckpointTime = input.readLong();
+		processControlTable.getAccountingInformation().readCheckpoint(input);
+		for (ProcessControlBlock processControlBlock : terminatedProcesses) {
+			processControlTable.restore(processControlBlock);
+		}
+		int liveProcessCount = input.readInt();
+		for (int i = 0; i < liveProcessCount; i++) {
+			processControlTable.restore(Checkpoint.readProcessControlBlock(input));
+		}
+		readSchedulerState(input);
+		readQueue(input, jobQueue);
+		readQueue(input, readyQueue);
+		processGenerator.readCheckpoint(input);
+		if (input.readBoolean()) {
+			timeSeriesSampler.readCheckpoint(input);
+		}
+		restored = true;
+	}
+	
+	//state a policy keeps beyond its queues
+	protected void writeSchedulerState(DataOutput output) throws IOException {
+	}
+	
+	protected void readSchedulerState(DataInput input) throws IOException {
+	}
+	
+	private void writeQueue(DataOutput output, ProcessQueue processQueue) throws IOException {
+		output.writeInt(processQueue.getSize());
+		Iterator<ProcessControlBlock> iterator = processQueue.getIterator();
+		while (iterator.hasNext()) {
+			output.writeInt(iterator.next().getPID());
+		}
+	}
+	
+	private void readQueue(DataInput input, ProcessQueue processQueue) throws IOException {
+		int size = input.readInt();
+		for (int i = 0; i < size; i++) {
+			processQueue.enqueue(processControlTable.getProcessControlBlockByProcessId(input.readInt()));
+		}
+	}
+	
 	protected void runJobScheduler() {
-		int availableCapacity = readyQueue.getAvailableCapacity();				
-		while (availableCapacity > 0 && !jobQueue.isEmpty()) {
-			ProcessControlBlock processControlBlock = jobQueue.dequeue();
-			int arrivalTime = currentTime;
-			int burstTime = 1 + random.nextInt(Helper.MAX_BURST_TIME);
-			int priority = 1 + random.nextInt(Helper.MAX_PRIORITY);		
-			processControlBlock.setArrivalTime(arrivalTime);
-			processControlBlock.setBurstTime(burstTime);			
-			processControlBlock.setRemainingBurstTime(burstTime);
-			processControlBlock.setPriority(priority);
-			readyQueue.enqueue(processControlBlock);
-			availableCapacity--;
-		}		
+		long phaseStartTime = phaseProfiler.start();
+		if (PhaseProfiler.isEnabled()) {
+			//the same batch, taken through a list to name each admitted process
+			jobQueue.drainTo(admittedProcesses, readyQueue.getAvailableCapacity());
+			for (int i = 0; i < admittedProcesses.size(); i++) {
+				readyQueue.enqueue(admittedProcesses.get(i));
+				SchedulingEvents.admission(schedulerTypeEnum, admittedProcesses.get(i).getPID(), currentTime);
+			}
+			admittedProcesses.clear();
+		}
+		else {
+			//admit as many jobs as the ready queue has room for in one batch
+			jobQueue.drainTo(readyQueue, readyQueue.getAvailableCapacity());
+		}
+		phaseProfiler.stop(PhaseProfiler.JOB_SCHEDULER, phaseStartTime);
 		
 		/*TEST Code
 		 * int availableCapacity = readyQueue.getAvailableCapacity();
@@ -96,22 +293,27 @@ public abstract class Scheduling implements Runnable {
 		 */
 	}
 	
-	protected void setUpRunningProcess(ProcessControlBlock scheduledProcess) {
-		//set the start time once
-		if (scheduledProcess.getBurstTime() == scheduledProcess.getRemainingBurstTime()) {
-			scheduledProcess.setStartTime(currentTime);
-		}
-		scheduledProcess.setBurstStartTime(currentTime);		
-		//remove the selected process from the ready queue
-		readyQueue.remove(scheduledProcess);		
-		//set the state of the selected process to running
-		scheduledProcess.setProcessState(ProcessStateEnum.RUNNING);
-		if (scheduledProcess.getResponseTime() <= 0) { //amount of time it takes from when a request was submitted until the first response is produced.
-			scheduledProcess.setResponseTime(currentTime - scheduledProcess.getArrivalTime());
-		}
-		
-//		metrics.displayCurrentEvent(processControlTable, currentTime, threadSequence, schedulerTypeEnum);
-//		metrics.displayReadyQueue(readyQueue, threadSequence, schedulerTypeEnum);
-//		metrics.displayGanttChartQueue(ganttChartQueue, threadSequence, schedulerTypeEnum);
-	}	
+	public long getCurrentTime() {
+		return currentTime;
+	}
+	
+	public int getContextSwitchCount() {
+		return contextSwitchCount;
+	}
+	
+	public AccountingInformation getAccountingInformation() {
+		return processControlTable.getAccountingInformation();
+	}
+	
+	public long getCompletedProcessCount() {
+		return processControlTable.getAccountingInformation().getProcessCount();
+	}
+	
+	public long getTotalWaitTime() {
+		return processControlTable.getAccountingInformation().getTotalWaitTime();
+	}
+	
+	public int getReadyQueueSize() {
+		return readyQueue.getSize();
+	}
 }
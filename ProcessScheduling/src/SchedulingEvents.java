@@ -0,0 +1,72 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//Flight recorder events of the schedulers, emitted only while PhaseProfiler is enabled and recorded only
+//while a recording has them enabled. Each carries the scheduler, the pid and the simulated time; the
+//stack trace is left out, as it is the same for every event of a kind.
+public class SchedulingEvents {
+
+	@Category("Process Scheduling")
+	@StackTrace(false)
+	public abstract static class SchedulingEvent extends Event {
+		@Label("Scheduler")
+		String scheduler;
+		@Label("PID")
+		int pid;
+		@Label("Simulated Time")
+		long simulatedTime;
+	}
+
+	@Name("ProcessScheduling.Admission")
+	@Label("Admission")
+	@Description("Process moved from the job queue into a ready queue")
+	public static class AdmissionEvent extends SchedulingEvent {
+	}
+
+	@Name("ProcessScheduling.Dispatch")
+	@Label("Dispatch")
+	@Description("Process selected by the CPU scheduler and set running")
+	public static class DispatchEvent extends SchedulingEvent {
+	}
+
+	@Name("ProcessScheduling.ContextSwitch")
+	@Label("Context Switch")
+	@Description("Running process preempted by the dispatched one")
+	public static class ContextSwitchEvent extends SchedulingEvent {
+	}
+
+	@Name("ProcessScheduling.Termination")
+	@Label("Termination")
+	@Description("Process ran its last burst unit")
+	public static class TerminationEvent extends SchedulingEvent {
+	}
+
+	public static void admission(SchedulerTypeEnum schedulerTypeEnum, int pid, long simulatedTime) {
+		commit(new AdmissionEvent(), schedulerTypeEnum, pid, simulatedTime);
+	}
+
+	public static void dispatch(SchedulerTypeEnum schedulerTypeEnum, int pid, long simulatedTime) {
+		commit(new DispatchEvent(), schedulerTypeEnum, pid, simulatedTime);
+	}
+
+	public static void contextSwitch(SchedulerTypeEnum schedulerTypeEnum, int pid, long simulatedTime) {
+		commit(new ContextSwitchEvent(), schedulerTypeEnum, pid, simulatedTime);
+	}
+
+	public static void termination(SchedulerTypeEnum schedulerTypeEnum, int pid, long simulatedTime) {
+		commit(new TerminationEvent(), schedulerTypeEnum, pid, simulatedTime);
+	}
+
+	private static void commit(SchedulingEvent schedulingEvent, SchedulerTypeEnum schedulerTypeEnum, int pid, long simulatedTime) {
+		if (schedulingEvent.isEnabled()) {
+			schedulingEvent.scheduler = schedulerTypeEnum.toString();
+			schedulingEvent.pid = pid;
+			schedulingEvent.simulatedTime = simulatedTime;
+			schedulingEvent.commit();
+		}
+	}
+}
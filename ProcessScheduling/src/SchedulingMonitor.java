@@ -0,0 +1,149 @@
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+//MBean of one scheduler, registered for the duration of its run. The scheduler thread is the only
+//writer and publishes with ordered stores, so it never waits on a lock or on the readers.
+public class SchedulingMonitor implements SchedulingMonitorMBean {
+
+	private static final AtomicInteger NEXT_ID = new AtomicInteger(1);
+	private SchedulerTypeEnum schedulerTypeEnum;
+	private PhaseProfiler phaseProfiler;
+	private ObjectName objectName;
+	private AtomicLong currentTime = new AtomicLong();
+	private AtomicLong contextSwitchCount = new AtomicLong();
+	private AtomicLong readyQueueDepth = new AtomicLong();
+	private AtomicLong jobQueueDepth = new AtomicLong();
+	private AtomicLong completedProcessCount = new AtomicLong();
+	private AtomicLong rollingAverageWaitTime = new AtomicLong(); //bits of the double
+	//owned by the scheduler thread
+	private long totalWaitTime;
+	private double averageWaitTime;
+	//owned by the readers
+	private long lastReadTime;
+	private long lastReadNanoTime;
+
+	public SchedulingMonitor(SchedulerTypeEnum schedulerTypeEnum, PhaseProfiler phaseProfiler) {
+		this.schedulerTypeEnum = schedulerTypeEnum;
+		this.phaseProfiler = phaseProfiler;
+		this.lastReadNanoTime = System.nanoTime();
+	}
+
+	public void register() {
+		try {
+			objectName = new ObjectName("ProcessScheduling:type=Scheduling,scheduler=" + schedulerTypeEnum + ",id=" + NEXT_ID.getAndIncrement());
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+		} catch (JMException e) {
+			//monitoring is optional, the simulation runs without it
+			objectName = null;
+		}
+	}
+
+	public void unregister() {
+		if (objectName != null) {
+			try {
+				ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+			} catch (JMException e) {
+				e.printStackTrace();
+			}
+			objectName = null;
+		}
+	}
+
+	//called by the scheduler thread after each dispatch
+	public void publish(Scheduling scheduling) {
+		long completed = scheduling.getCompletedProcessCount();
+		long previouslyCompleted = completedProcessCount.get();
+		if (completed > previouslyCompleted) {
+			//exponentially weighted, each process counting 1 / window
+			long waitTime = scheduling.getTotalWaitTime();
+			long count = completed - previouslyCompleted;
+			double weight = Math.min(1.0, (double)count / Helper.ROLLING_WAIT_TIME_WINDOW);
+			averageWaitTime += ((double)(waitTime - totalWaitTime) / count - averageWaitTime) * weight;
+			totalWaitTime = waitTime;
+			rollingAverageWaitTime.lazySet(Double.doubleToRawLongBits(averageWaitTime));
+			completedProcessCount.lazySet(completed);
+		}
+		currentTime.lazySet(scheduling.getCurrentTime());
+		contextSwitchCount.lazySet(scheduling.getContextSwitchCount());
+		readyQueueDepth.lazySet(scheduling.getReadyQueueSize());
+		jobQueueDepth.lazySet(scheduling.jobQueue.getSize());
+	}
+
+	@Override
+	public String getSchedulerType() {
+		return schedulerTypeEnum.toString();
+	}
+
+	@Override
+	public long getCurrentTime() {
+		return currentTime.get();
+	}
+
+	@Override
+	public long getContextSwitchCount() {
+		return contextSwitchCount.get();
+	}
+
+	@Override
+	public long getReadyQueueDepth() {
+		return readyQueueDepth.get();
+	}
+
+	@Override
+	public long getJobQueueDepth() {
+		return jobQueueDepth.get();
+	}
+
+	@Override
+	public long getCompletedProcessCount() {
+		return completedProcessCount.get();
+	}
+
+	@Override
+	public synchronized double getTicksPerSecond() {
+		long time = currentTime.get();
+		long nanoTime = System.nanoTime();
+		double ticksPerSecond = (time - lastReadTime) * 1e9 / Math.max(1, nanoTime - lastReadNanoTime);
+		lastReadTime = time;
+		lastReadNanoTime = nanoTime;
+		return ticksPerSecond;
+	}
+
+	@Override
+	public double getRollingAverageWaitTime() {
+		return Double.longBitsToDouble(rollingAverageWaitTime.get());
+	}
+
+	@Override
+	public boolean isProfiling() {
+		return PhaseProfiler.isEnabled();
+	}
+
+	@Override
+	public void setProfiling(boolean profiling) {
+		PhaseProfiler.setEnabled(profiling);
+	}
+
+	@Override
+	public long getJobSchedulerTime() {
+		return phaseProfiler.getPhaseTime(PhaseProfiler.JOB_SCHEDULER);
+	}
+
+	@Override
+	public long getCPUSchedulerTime() {
+		return phaseProfiler.getPhaseTime(PhaseProfiler.CPU_SCHEDULER);
+	}
+
+	@Override
+	public long getDispatcherTime() {
+		return phaseProfiler.getPhaseTime(PhaseProfiler.DISPATCHER);
+	}
+
+	@Override
+	public long getMetricsTime() {
+		return phaseProfiler.getPhaseTime(PhaseProfiler.METRICS);
+	}
+}
@@ -0,0 +1,33 @@
+
+//Live counters of a running simulation, as seen through JMX
+public interface SchedulingMonitorMBean {
+
+	public String getSchedulerType();
+
+	public long getCurrentTime();
+
+	public long getContextSwitchCount();
+
+	public long getReadyQueueDepth();
+
+	public long getJobQueueDepth();
+
+	public long getCompletedProcessCount();
+
+	public double getTicksPerSecond(); //simulated time units per second since the previous read
+
+	public double getRollingAverageWaitTime(); //over roughly the last Helper.ROLLING_WAIT_TIME_WINDOW processes
+
+	public boolean isProfiling();
+
+	public void setProfiling(boolean profiling); //phase timers and flight recorder events of every scheduler
+
+	//wall-clock nanoseconds spent in each phase while profiling
+	public long getJobSchedulerTime();
+
+	public long getCPUSchedulerTime();
+
+	public long getDispatcherTime();
+
+	public long getMetricsTime();
+}
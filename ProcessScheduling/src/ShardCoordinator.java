@@ -0,0 +1,205 @@
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Random;
+
+//Splits a generated workload into shards, by pid range or arrival batch by arrival batch like the
+//cores of a multi-core host, and runs every shard in a ShardWorker JVM of its own. The workers stream
+//their accounting and Gantt chart slices back over loopback sockets, which are merged into one report.
+public class ShardCoordinator {
+
+	private static final int SHARD_CONNECT_TIMEOUT = 60000; //milliseconds
+	private int numberOfShards;
+	private AccountingInformation[] shardAccountingInformation; //latest accounting of each shard, replaced on every report
+	private long[] shardTimes;
+	private int[] shardContextSwitchCounts;
+	private long[] shardBusyTimes;
+	private GanttChartQueue[] shardGanttChartQueues;
+	private boolean[] done;
+
+	public ShardCoordinator(int numberOfShards) {
+		this.numberOfShards = numberOfShards;
+		this.shardAccountingInformation = new AccountingInformation[numberOfShards];
+		this.shardTimes = new long[numberOfShards];
+		this.shardContextSwitchCounts = new int[numberOfShards];
+		this.shardBusyTimes = new long[numberOfShards];
+		this.shardGanttChartQueues = new GanttChartQueue[numberOfShards];
+		this.done = new boolean[numberOfShards];
+		for (int shard = 0; shard < numberOfShards; shard++) {
+			shardAccountingInformation[shard] = new AccountingInformation();
+			shardGanttChartQueues[shard] = new GanttChartQueue();
+		}
+	}
+
+	//write the trace of every shard; the workload is generated a chunk at a time and is the same as Workload.generate
+	public String[] writeShardTraces(SimulationConfiguration simulationConfiguration, boolean byCore) throws IOException {
+		String[] tracePaths = new String[numberOfShards];
+		DataOutputStream[] outputs = new DataOutputStream[numberOfShards];
+		try {
+			for (int shard = 0; shard < numberOfShards; shard++) {
+				File traceFile = File.createTempFile("shard" + shard + "-", ".trace");
+				traceFile.deleteOnExit();
+				tracePaths[shard] = traceFile.getPath();
+				outputs[shard] = WorkloadTrace.create(tracePaths[shard]);
+			}
+			int maxProcess = simulationConfiguration.getMaxProcess();
+			int chunkSize = simulationConfiguration.getJobQueueCapacity() * 4096; //whole arrival batches
+			Random random = new WorkloadRandom(simulationConfiguration.getRandomSeed());
+			int pid = 1;
+			long time = 0;
+			int batch = -1;
+			long previousArrivalTime = -1;
+			while (pid <= maxProcess) {
+				Workload workload = Workload.generate(random, pid, time, Math.min(chunkSize, maxProcess - pid + 1), simulationConfiguration);
+				for (int i = 0; i < workload.getSize(); i++) {
+					long arrivalTime = workload.getArrivalTime(i);
+					if (arrivalTime != previousArrivalTime) {
+						batch++;
+						previousArrivalTime = arrivalTime;
+					}
+					int shard = byCore ? batch % numberOfShards : (int)((long)(workload.getPID(i) - 1) * numberOfShards / maxProcess);
+					WorkloadTrace.writeRecord(outputs[shard], workload.getPID(i), arrivalTime, workload.getBurstTime(i), workload.getPriority(i));
+				}
+				pid += workload.getSize();
+				time = workload.getEndTime();
+			}
+		}
+		finally {
+			for (DataOutputStream output : outputs) {
+				if (output != null) {
+					output.close();
+				}
+			}
+		}
+		return tracePaths;
+	}
+
+	//start a worker per shard and merge what they send until every one of them is done
+	public void run(SchedulerTypeEnum schedulerTypeEnum, String[] tracePaths) throws IOException, InterruptedException {
+		try (ServerSocket serverSocket = new ServerSocket(0, numberOfShards, InetAddress.getLoopbackAddress())) {
+			//a worker that dies before connecting must not hang the coordinator
+			serverSocket.setSoTimeout(SHARD_CONNECT_TIMEOUT);
+			String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+			Process[] workers = new Process[numberOfShards];
+			for (int shard = 0; shard < numberOfShards; shard++) {
+				workers[shard] = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), ShardWorker.class.getName(),
+					String.valueOf(serverSocket.getLocalPort()), String.valueOf(shard), schedulerTypeEnum.name(), tracePaths[shard])
+					.inheritIO().start();
+			}
+			Thread[] readers = new Thread[numberOfShards];
+			for (int i = 0; i < numberOfShards; i++) {
+				final Socket socket = serverSocket.accept();
+				readers[i] = new Thread(new Runnable() {
+					public void run() {
+						try {
+							read(socket);
+						} catch (IOException e) {
+							e.printStackTrace();
+						}
+					}
+				});
+				readers[i].start();
+			}
+			for (int shard = 0; shard < numberOfShards; shard++) {
+				readers[shard].join();
+				int exitValue = workers[shard].waitFor();
+				if (exitValue != 0) {
+					throw new IllegalStateException("Shard worker " + shard + " exited with " + exitValue);
+				}
+			}
+			for (int shard = 0; shard < numberOfShards; shard++) {
+				if (!done[shard]) {
+					throw new IllegalStateException("Shard worker " + shard + " did not finish its shard");
+				}
+			}
+		}
+	}
+
+	//reports of one worker, each replacing the accounting of its shard and adding to its Gantt chart
+	private void read(Socket socket) throws IOException {
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 1 << 16))) {
+			int shard = input.readInt();
+			AccountingInformation accountingInformation = new AccountingInformation();
+			GanttChartQueue ganttChartSegment = new GanttChartQueue();
+			while (true) {
+				byte message = input.readByte();
+				if (message == ShardWorker.DONE) {
+					done[shard] = true;
+					return;
+				}
+				long currentTime = input.readLong();
+				int contextSwitchCount = input.readInt();
+				accountingInformation.readCheckpoint(input);
+				ganttChartSegment.readCheckpoint(input);
+				synchronized (this) {
+					shardTimes[shard] = currentTime;
+					shardContextSwitchCounts[shard] = contextSwitchCount;
+					shardAccountingInformation[shard].clear();
+					shardAccountingInformation[shard].merge(accountingInformation);
+					GanttChartQueue ganttChartQueue = shardGanttChartQueues[shard];
+					for (int slice = 0; slice < ganttChartSegment.getSize(); slice++) {
+						long burstStartTime = ganttChartSegment.getBurstStartTime(slice);
+						long burstEndTime = ganttChartSegment.getBurstEndTime(slice);
+						ganttChartQueue.record(ganttChartSegment.getPID(slice), burstStartTime, burstEndTime);
+						shardBusyTimes[shard] += burstEndTime - burstStartTime + 1;
+					}
+				}
+			}
+		}
+	}
+
+	//merged accounting of all shards followed by the utilization of each, and optionally their Gantt charts
+	public synchronized void display(Metrics metrics, SchedulerTypeEnum schedulerTypeEnum, boolean ganttChart) {
+		AccountingInformation accountingInformation = new AccountingInformation();
+		int contextSwitchCount = 0;
+		long currentTime = 0;
+		for (int shard = 0; shard < numberOfShards; shard++) {
+			accountingInformation.merge(shardAccountingInformation[shard]);
+			contextSwitchCount += shardContextSwitchCounts[shard];
+			currentTime = Math.max(currentTime, shardTimes[shard]);
+		}
+		metrics.displayAccountingInformation(accountingInformation, contextSwitchCount, currentTime, shardBusyTimes, new int[numberOfShards], 0, schedulerTypeEnum);
+		if (ganttChart) {
+			for (int shard = 0; shard < numberOfShards; shard++) {
+				metrics.displayGanttChartQueue(shardGanttChartQueues[shard], 0, schedulerTypeEnum);
+			}
+		}
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		if (args.length < 2) {
+			System.err.println("Usage: java ShardCoordinator scheduler shards [maxProcess] [range|core] [gantt]");
+			System.exit(1);
+		}
+		SchedulerTypeEnum schedulerTypeEnum = SchedulerTypeEnum.valueOf(args[0]);
+		int numberOfShards = Integer.parseInt(args[1]);
+		int maxProcess = args.length > 2 ? Integer.parseInt(args[2]) : Helper.MAX_PROCESS;
+		boolean byCore = args.length > 3 && args[3].equals("core");
+		boolean ganttChart = args.length > 4 && args[4].equals("gantt");
+		if (maxProcess < 0) {
+			throw new IllegalArgumentException("A sharded simulation needs a bounded workload");
+		}
+		SimulationConfiguration simulationConfiguration = new SimulationConfiguration(Helper.RANDOM_SEED, Helper.JOB_QUEUE_CAPACITY, Helper.READY_QUEUE_CAPACITY, Helper.THRESHOLD_CAPACITY,
+			Helper.MAX_BURST_TIME, Helper.MAX_PRIORITY, maxProcess, Helper.QUANTUM);
+
+		ShardCoordinator shardCoordinator = new ShardCoordinator(numberOfShards);
+		String[] tracePaths = shardCoordinator.writeShardTraces(simulationConfiguration, byCore);
+		try {
+			shardCoordinator.run(schedulerTypeEnum, tracePaths);
+		}
+		finally {
+			for (String tracePath : tracePaths) {
+				new File(tracePath).delete();
+			}
+		}
+		Metrics metrics = new Metrics(1);
+		shardCoordinator.display(metrics, schedulerTypeEnum, ganttChart);
+		metrics.close(0);
+		metrics.report();
+	}
+}
@@ -0,0 +1,99 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+
+//Worker JVM of a sharded simulation: runs one scheduler over the workload trace of its shard and,
+//instead of printing reports, streams the accounting so far and the Gantt chart slices since the
+//previous report back to the coordinator every Helper.SHARD_REPORT_INTERVAL time units.
+public class ShardWorker extends Metrics {
+
+	public static final byte PARTIAL = 1; //followed by time, context switches, accounting and Gantt slices
+	public static final byte DONE = 2;
+	private DataOutputStream output;
+	private GanttChartQueue ganttChartQueue; //of the scheduler, cleared by it after every report
+	private GanttChartQueue ganttChartSegment = new GanttChartQueue(); //slices not sent yet
+	private AccountingInformation accountingInformation;
+	private long currentTime;
+	private int contextSwitchCount;
+	private long nextReportTime;
+
+	public ShardWorker(DataOutputStream output) {
+		super(1);
+		this.output = output;
+		this.nextReportTime = Helper.SHARD_REPORT_INTERVAL;
+	}
+
+	public void setGanttChartQueue(GanttChartQueue ganttChartQueue) {
+		this.ganttChartQueue = ganttChartQueue;
+	}
+
+	@Override
+	public void displayAccountingInformation(ProcessControlTable processControlTable, int contextSwitchCount, long currentTime, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {
+		for (int slice = 0; slice < ganttChartQueue.getSize(); slice++) {
+			ganttChartSegment.record(ganttChartQueue.getPID(slice), ganttChartQueue.getBurstStartTime(slice), ganttChartQueue.getBurstEndTime(slice));
+		}
+		this.accountingInformation = processControlTable.getAccountingInformation();
+		this.currentTime = currentTime;
+		this.contextSwitchCount = contextSwitchCount;
+		if (currentTime >= nextReportTime) {
+			sendPartial();
+			nextReportTime = (currentTime / Helper.SHARD_REPORT_INTERVAL + 1) * Helper.SHARD_REPORT_INTERVAL;
+		}
+	}
+
+	//the scheduler is done: send what is left and sign off
+	@Override
+	public void close(int threadSequence) {
+		if (accountingInformation != null) {
+			sendPartial();
+		}
+		try {
+			output.writeByte(DONE);
+			output.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void sendPartial() {
+		try {
+			output.writeByte(PARTIAL);
+			output.writeLong(currentTime);
+			output.writeInt(contextSwitchCount);
+			accountingInformation.writeCheckpoint(output);
+			ganttChartSegment.writeCheckpoint(output);
+			output.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		ganttChartSegment.clear();
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 4) {
+			System.err.println("Usage: java ShardWorker port shard scheduler traceFile");
+			System.exit(1);
+		}
+		int port = Integer.parseInt(args[0]);
+		int shard = Integer.parseInt(args[1]);
+		SchedulerTypeEnum schedulerTypeEnum = SchedulerTypeEnum.valueOf(args[2]);
+		Workload workload = Workload.load(args[3]);
+
+		SimulationConfiguration simulationConfiguration = new SimulationConfiguration(Helper.RANDOM_SEED, Helper.JOB_QUEUE_CAPACITY, Helper.READY_QUEUE_CAPACITY, Helper.THRESHOLD_CAPACITY,
+			Helper.MAX_BURST_TIME, Helper.MAX_PRIORITY, workload.getSize(), Helper.QUANTUM);
+		simulationConfiguration.setWorkload(workload);
+		//only the aggregates travel to the coordinator, so nothing is kept per process
+		simulationConfiguration.setRetireTerminatedProcesses(true);
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+			DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 1 << 16));
+			output.writeInt(shard);
+			ShardWorker shardWorker = new ShardWorker(output);
+			Scheduling scheduling = Scheduling.createScheduling(schedulerTypeEnum, shardWorker, 0, simulationConfiguration);
+			shardWorker.setGanttChartQueue(scheduling.ganttChartQueue);
+			scheduling.run();
+		}
+	}
+}
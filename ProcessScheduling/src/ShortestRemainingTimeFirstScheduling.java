@@ -1,9 +1,11 @@
-import java.util.concurrent.PriorityBlockingQueue;
-
-public class ShortestRemainingTimeFirstScheduling extends Scheduling {	
+public class ShortestRemainingTimeFirstScheduling extends CoreScheduling {	
 		
 	public ShortestRemainingTimeFirstScheduling(Metrics metrics, int threadSequence, SchedulerTypeEnum schedulerTypeEnum) {		
-		super(new ReadyQueue(new PriorityBlockingQueue<ProcessControlBlock>(Helper.READY_QUEUE_CAPACITY, new ProcessArrivalTimeRemainingBurstTimeComparator())), metrics, threadSequence, schedulerTypeEnum);
+		this(metrics, threadSequence, schedulerTypeEnum, new SimulationConfiguration());
+	}
+	
+	public ShortestRemainingTimeFirstScheduling(Metrics metrics, int threadSequence, SchedulerTypeEnum schedulerTypeEnum, SimulationConfiguration simulationConfiguration) {		
+		super(new ReadyQueue(createReadyPriorityQueue(new ProcessArrivalTimeRemainingBurstTimeComparator(), simulationConfiguration), simulationConfiguration), metrics, threadSequence, schedulerTypeEnum, simulationConfiguration);
 	}
 		
 	@Override
@@ -41,6 +43,11 @@ public class ShortestRemainingTimeFirstScheduling extends Scheduling {
 			//start executing the scheduled process
 			int remainingBurstTime = scheduledProcess.getRemainingBurstTime();					
 			remainingBurstTime--;
+			//nothing can arrive or preempt until completion, so jump straight to it
+			if (simulationConfiguration.isEventDriven() && remainingBurstTime > 0 && canJumpToCompletion() && getProcessWithLowerRemainingBurstTimeAtCurrentTime(remainingBurstTime) == null) {
+				currentTime += remainingBurstTime;
+				remainingBurstTime = 0;
+			}
 			scheduledProcess.setRemainingBurstTime(remainingBurstTime);	
 			if (remainingBurstTime == 0) {			
 				scheduledProcess.setCompletionTime(currentTime);
@@ -50,7 +57,7 @@ public class ShortestRemainingTimeFirstScheduling extends Scheduling {
 				scheduledProcess.setResponseRatioTime((float)scheduledProcess.getBurstTime() / (float)scheduledProcess.getTurnAroundTime());
 				//set the state of the process to terminated
 				scheduledProcess.setProcessState(ProcessStateEnum.TERMINATED);
-				ganttChartQueue.enqueue(new ProcessControlBlock(scheduledProcess.getPID(), scheduledProcess.getBurstStartTime(), scheduledProcess.getBurstEndTime()));
+				ganttChartQueue.record(scheduledProcess.getPID(), scheduledProcess.getBurstStartTime(), scheduledProcess.getBurstEndTime());
 			}			
 		}		
 		currentTime++;
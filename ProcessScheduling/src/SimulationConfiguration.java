@@ -0,0 +1,279 @@
+
+//Tuning of a single simulation; the default configuration is taken from Helper
+public class SimulationConfiguration {
+	
+	private int randomSeed;
+	private int jobQueueCapacity;
+	private int readyQueueCapacity;
+	private float thresholdCapacity;
+	private int maxBurstTime;
+	private int maxPriority;
+	private int maxProcess; //-1 would run indefinitely
+	private long quantum;
+	private String traceFile; //workload trace replayed instead of random generation, null for random
+	private Workload workload; //generated workload shared by several simulations, null to generate one per simulation
+	private boolean retireTerminatedProcesses; //fold terminated processes into the accounting and evict them
+	private String spillFile; //rolling log that retired processes are written to, null for none
+	private long maxSpillFileSize;
+	private int numberOfCores;
+	private int feedbackQueueLevels;
+	private int priorityBoostInterval;
+	private int targetLatency;
+	private int minGranularity;
+	private String checkpointFile; //snapshot taken periodically to resume from, null for none
+	private int checkpointInterval; //time units between checkpoints
+	private int samplingInterval; //time units per window of the time series, 0 for none
+	private int sampleCapacity; //most recent windows kept
+	private String timeSeriesFile; //the time series is exported to at the end of the run, null for none
+	private boolean pipelinedGeneration; //generate the processes on a thread of their own, not with a checkpoint file
+	private int pipelineCapacity; //processes generated ahead at most
+	private Distribution arrivalDistribution; //gap between arrivals, null for batches of the job queue capacity
+	private Distribution burstDistribution; //null for uniform up to maxBurstTime
+	private boolean eventDriven; //jump SRTF and priority straight to completion when nothing can preempt
+	
+	public SimulationConfiguration() {
+		this(Helper.RANDOM_SEED, Helper.JOB_QUEUE_CAPACITY, Helper.READY_QUEUE_CAPACITY, Helper.THRESHOLD_CAPACITY, Helper.MAX_BURST_TIME, Helper.MAX_PRIORITY, Helper.MAX_PROCESS, Helper.QUANTUM);
+	}
+	
+	public SimulationConfiguration(int randomSeed, int jobQueueCapacity, int readyQueueCapacity, float thresholdCapacity, int maxBurstTime, int maxPriority, int maxProcess, long quantum) {
+		this.randomSeed = randomSeed;
+		this.jobQueueCapacity = jobQueueCapacity;
+		this.readyQueueCapacity = readyQueueCapacity;
+		this.thresholdCapacity = thresholdCapacity;
+		this.maxBurstTime = maxBurstTime;
+		this.maxPriority = maxPriority;
+		this.maxProcess = maxProcess;
+		this.quantum = quantum;
+		this.retireTerminatedProcesses = maxProcess == -1;
+		this.maxSpillFileSize = Helper.MAX_SPILL_FILE_SIZE;
+		this.numberOfCores = Helper.NUMBER_OF_CORES;
+		this.feedbackQueueLevels = Helper.FEEDBACK_QUEUE_LEVELS;
+		this.priorityBoostInterval = Helper.PRIORITY_BOOST_INTERVAL;
+		this.targetLatency = Helper.TARGET_LATENCY;
+		this.minGranularity = Helper.MIN_GRANULARITY;
+		this.checkpointInterval = Helper.CHECKPOINT_INTERVAL;
+		this.samplingInterval = Helper.SAMPLING_INTERVAL;
+		this.sampleCapacity = Helper.SAMPLE_CAPACITY;
+		this.pipelinedGeneration = Helper.PIPELINED_GENERATION;
+		this.pipelineCapacity = Helper.PIPELINE_CAPACITY;
+		this.eventDriven = Helper.EVENT_DRIVEN;
+	}
+	
+	//configuration of one core of a multi-core host: the host replays the trace and each core spills and exports its time series to its own file
+	public SimulationConfiguration createCoreConfiguration(int core) {
+		SimulationConfiguration coreConfiguration = new SimulationConfiguration(randomSeed, jobQueueCapacity, readyQueueCapacity, thresholdCapacity, maxBurstTime, maxPriority, maxProcess, quantum);
+		coreConfiguration.retireTerminatedProcesses = retireTerminatedProcesses;
+		coreConfiguration.spillFile = spillFile == null ? null : spillFile + ".core" + core;
+		coreConfiguration.maxSpillFileSize = maxSpillFileSize;
+		coreConfiguration.numberOfCores = 1;
+		coreConfiguration.feedbackQueueLevels = feedbackQueueLevels;
+		coreConfiguration.priorityBoostInterval = priorityBoostInterval;
+		coreConfiguration.targetLatency = targetLatency;
+		coreConfiguration.minGranularity = minGranularity;
+		coreConfiguration.arrivalDistribution = arrivalDistribution;
+		coreConfiguration.burstDistribution = burstDistribution;
+		coreConfiguration.eventDriven = eventDriven;
+		coreConfiguration.samplingInterval = samplingInterval;
+		coreConfiguration.sampleCapacity = sampleCapacity;
+		coreConfiguration.timeSeriesFile = timeSeriesFile == null ? null : timeSeriesFile + ".core" + core;
+		return coreConfiguration;
+	}
+	
+	public int getRandomSeed() {
+		return randomSeed;
+	}
+	
+	public int getJobQueueCapacity() {
+		return jobQueueCapacity;
+	}
+	
+	public int getReadyQueueCapacity() {
+		return readyQueueCapacity;
+	}
+	
+	public float getThresholdCapacity() {
+		return thresholdCapacity;
+	}
+	
+	public int getMaxBurstTime() {
+		return maxBurstTime;
+	}
+	
+	public int getMaxPriority() {
+		return maxPriority;
+	}
+	
+	public int getMaxProcess() {
+		return maxProcess;
+	}
+	
+	public long getQuantum() {
+		return quantum;
+	}
+	
+	public String getTraceFile() {
+		return traceFile;
+	}
+	
+	public void setTraceFile(String traceFile) {
+		this.traceFile = traceFile;
+	}
+	
+	public Workload getWorkload() {
+		return workload;
+	}
+	
+	public void setWorkload(Workload workload) {
+		this.workload = workload;
+	}
+	
+	public boolean isRetireTerminatedProcesses() {
+		return retireTerminatedProcesses;
+	}
+	
+	public void setRetireTerminatedProcesses(boolean retireTerminatedProcesses) {
+		this.retireTerminatedProcesses = retireTerminatedProcesses;
+	}
+	
+	public String getSpillFile() {
+		return spillFile;
+	}
+	
+	public void setSpillFile(String spillFile) {
+		this.spillFile = spillFile;
+	}
+	
+	public int getNumberOfCores() {
+		return numberOfCores;
+	}
+	
+	public void setNumberOfCores(int numberOfCores) {
+		if (numberOfCores > 1 && checkpointFile != null) {
+			throw new IllegalArgumentException("Checkpoints of a multi-core host are not supported");
+		}
+		this.numberOfCores = numberOfCores;
+	}
+	
+	public long getMaxSpillFileSize() {
+		return maxSpillFileSize;
+	}
+	
+	public void setMaxSpillFileSize(long maxSpillFileSize) {
+		this.maxSpillFileSize = maxSpillFileSize;
+	}
+	
+	public int getFeedbackQueueLevels() {
+		return feedbackQueueLevels;
+	}
+	
+	public void setFeedbackQueueLevels(int feedbackQueueLevels) {
+		this.feedbackQueueLevels = feedbackQueueLevels;
+	}
+	
+	public int getPriorityBoostInterval() {
+		return priorityBoostInterval;
+	}
+	
+	public void setPriorityBoostInterval(int priorityBoostInterval) {
+		this.priorityBoostInterval = priorityBoostInterval;
+	}
+	
+	public int getTargetLatency() {
+		return targetLatency;
+	}
+	
+	public void setTargetLatency(int targetLatency) {
+		this.targetLatency = targetLatency;
+	}
+	
+	public int getMinGranularity() {
+		return minGranularity;
+	}
+	
+	public void setMinGranularity(int minGranularity) {
+		this.minGranularity = minGranularity;
+	}
+	
+	public String getCheckpointFile() {
+		return checkpointFile;
+	}
+	
+	public void setCheckpointFile(String checkpointFile) {
+		if (checkpointFile != null && numberOfCores > 1) {
+			throw new IllegalArgumentException("Checkpoints of a multi-core host are not supported");
+		}
+		this.checkpointFile = checkpointFile;
+	}
+	
+	public int getCheckpointInterval() {
+		return checkpointInterval;
+	}
+	
+	public void setCheckpointInterval(int checkpointInterval) {
+		this.checkpointInterval = checkpointInterval;
+	}
+	
+	public int getSamplingInterval() {
+		return samplingInterval;
+	}
+	
+	public void setSamplingInterval(int samplingInterval) {
+		this.samplingInterval = samplingInterval;
+	}
+	
+	public int getSampleCapacity() {
+		return sampleCapacity;
+	}
+	
+	public void setSampleCapacity(int sampleCapacity) {
+		this.sampleCapacity = sampleCapacity;
+	}
+	
+	public String getTimeSeriesFile() {
+		return timeSeriesFile;
+	}
+	
+	public void setTimeSeriesFile(String timeSeriesFile) {
+		this.timeSeriesFile = timeSeriesFile;
+	}
+	
+	public boolean isPipelinedGeneration() {
+		return pipelinedGeneration;
+	}
+	
+	public void setPipelinedGeneration(boolean pipelinedGeneration) {
+		this.pipelinedGeneration = pipelinedGeneration;
+	}
+	
+	public boolean isEventDriven() {
+		return eventDriven;
+	}
+	
+	public void setEventDriven(boolean eventDriven) {
+		this.eventDriven = eventDriven;
+	}
+	
+	public int getPipelineCapacity() {
+		return pipelineCapacity;
+	}
+	
+	public void setPipelineCapacity(int pipelineCapacity) {
+		this.pipelineCapacity = pipelineCapacity;
+	}
+	
+	public Distribution getArrivalDistribution() {
+		return arrivalDistribution;
+	}
+	
+	public void setArrivalDistribution(Distribution arrivalDistribution) {
+		this.arrivalDistribution = arrivalDistribution;
+	}
+	
+	public Distribution getBurstDistribution() {
+		return burstDistribution;
+	}
+	
+	public void setBurstDistribution(Distribution burstDistribution) {
+		this.burstDistribution = burstDistribution;
+	}
+}
@@ -0,0 +1,15 @@
+import java.util.Comparator;
+
+//Ready queue order that can also be expressed as a single long per process: the wrapping difference of the
+//keys of two processes has the same sign as comparing the processes themselves
+public interface SortKeyComparator extends Comparator<ProcessControlBlock> {
+
+	public long getSortKey(ProcessControlBlock processControlBlock);
+
+	//a time and an int compared in order, the time deciding: only the low 32 bits of the time are kept, which
+	//orders exactly while the times of the keys compared are less than 2^31 apart. The low half has its sign
+	//bit flipped so that it orders as unsigned
+	public static long pack(long high, int low) {
+		return (high << 32) | ((low ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+	}
+}
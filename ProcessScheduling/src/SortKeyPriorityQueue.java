@@ -0,0 +1,181 @@
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+//IndexedPriorityQueue that orders on a packed long key per process instead of calling the comparator.
+//The keys sit in an array parallel to the heap, so sifting compares primitives without touching the
+//control blocks. A key is taken when the process is queued and again when it is reprioritized, which
+//keeps it current: only the running process, which is never queued, has its remaining burst time changed.
+//Sifting mirrors IndexedPriorityQueue, so ties between equal keys resolve the same way. Keys are compared
+//by their wrapping difference, as they keep only the low bits of the arrival time that leads every key;
+//the arrivals of the queued processes are never 2^31 ticks apart, since each key orders the oldest first.
+public class SortKeyPriorityQueue extends AbstractQueue<ProcessControlBlock> {
+
+	private ProcessControlBlock[] heap;
+	private long[] keys;
+	private int size;
+	private SortKeyComparator sortKeyComparator;
+
+	public SortKeyPriorityQueue(int initialCapacity, SortKeyComparator sortKeyComparator) {
+		this.heap = new ProcessControlBlock[Math.max(1, initialCapacity)];
+		this.keys = new long[heap.length];
+		this.size = 0;
+		this.sortKeyComparator = sortKeyComparator;
+	}
+
+	@Override
+	public boolean offer(ProcessControlBlock processControlBlock) {
+		if (processControlBlock == null) {
+			throw new NullPointerException();
+		}
+		if (size == heap.length) {
+			heap = Arrays.copyOf(heap, heap.length * 2);
+			keys = Arrays.copyOf(keys, heap.length);
+		}
+		siftUp(size, processControlBlock, sortKeyComparator.getSortKey(processControlBlock));
+		size++;
+		return true;
+	}
+
+	@Override
+	public ProcessControlBlock poll() {
+		if (size == 0) {
+			return null;
+		}
+		ProcessControlBlock result = heap[0];
+		removeAt(0);
+		return result;
+	}
+
+	@Override
+	public ProcessControlBlock peek() {
+		return heap[0];
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean contains(Object object) {
+		return indexOf(object) >= 0;
+	}
+
+	@Override
+	public boolean remove(Object object) {
+		int index = indexOf(object);
+		if (index < 0) {
+			return false;
+		}
+		removeAt(index);
+		return true;
+	}
+
+	@Override
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			heap[i].setHeapIndex(-1);
+			heap[i] = null;
+		}
+		size = 0;
+	}
+
+	//the key of the process changed in either direction
+	public void update(ProcessControlBlock processControlBlock) {
+		int index = indexOf(processControlBlock);
+		if (index >= 0) {
+			long key = sortKeyComparator.getSortKey(processControlBlock);
+			siftDown(index, processControlBlock, key);
+			if (heap[index] == processControlBlock) {
+				siftUp(index, processControlBlock, key);
+			}
+		}
+	}
+
+	@Override
+	public Iterator<ProcessControlBlock> iterator() {
+		return new Iterator<ProcessControlBlock>() {
+			private int cursor = 0;
+
+			@Override
+			public boolean hasNext() {
+				return cursor < size;
+			}
+
+			@Override
+			public ProcessControlBlock next() {
+				if (cursor >= size) {
+					throw new NoSuchElementException();
+				}
+				return heap[cursor++];
+			}
+		};
+	}
+
+	private int indexOf(Object object) {
+		if (object instanceof ProcessControlBlock) {
+			int index = ((ProcessControlBlock)object).getHeapIndex();
+			if (index >= 0 && index < size && heap[index] == object) {
+				return index;
+			}
+		}
+		return -1;
+	}
+
+	private void removeAt(int index) {
+		heap[index].setHeapIndex(-1);
+		size--;
+		if (size == index) {
+			heap[index] = null;
+		}
+		else {
+			ProcessControlBlock moved = heap[size];
+			long movedKey = keys[size];
+			heap[size] = null;
+			siftDown(index, moved, movedKey);
+			if (heap[index] == moved) {
+				siftUp(index, moved, movedKey);
+			}
+		}
+	}
+
+	private void siftUp(int index, ProcessControlBlock processControlBlock, long key) {
+		while (index > 0) {
+			int parent = (index - 1) >>> 1;
+			long parentKey = keys[parent];
+			if (key - parentKey >= 0) {
+				break;
+			}
+			place(index, heap[parent], parentKey);
+			index = parent;
+		}
+		place(index, processControlBlock, key);
+	}
+
+	private void siftDown(int index, ProcessControlBlock processControlBlock, long key) {
+		int half = size >>> 1;
+		while (index < half) {
+			int child = (index << 1) + 1;
+			long childKey = keys[child];
+			int right = child + 1;
+			if (right < size && childKey - keys[right] > 0) {
+				child = right;
+				childKey = keys[child];
+			}
+			if (key - childKey <= 0) {
+				break;
+			}
+			place(index, heap[child], childKey);
+			index = child;
+		}
+		place(index, processControlBlock, key);
+	}
+
+	private void place(int index, ProcessControlBlock processControlBlock, long key) {
+		heap[index] = processControlBlock;
+		keys[index] = key;
+		processControlBlock.setHeapIndex(index);
+	}
+}
@@ -0,0 +1,208 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+//Windowed time series of one scheduler: at the end of every sampling interval the queue depths, the busy
+//time and the completions and context switches of the window are written into fixed size ring buffers,
+//so the most recent samples are kept without allocating. The dispatcher reports after every step;
+//a step that runs past several interval boundaries closes a single, longer window.
+//Export layout: magic, version, interval and sample count, then a record of SAMPLE_FIELDS big-endian values
+//per sample, oldest first: end time and window length as longs, the rest as ints.
+public class TimeSeriesSampler {
+
+	public static final int MAGIC = 0x50435453; //PCTS
+	public static final int VERSION = 2;
+	public static final int SAMPLE_FIELDS = 7;
+	private int samplingInterval;
+	private long[] endTimes;
+	private long[] windowLengths;
+	private int[] busyTimes;
+	private int[] readyQueueDepths;
+	private int[] jobQueueDepths;
+	private int[] completions;
+	private int[] contextSwitches;
+	private long sampleCount; //samples taken, the ring keeps the last endTimes.length of them
+	private long nextSampleTime;
+	private long windowStartTime;
+	private int windowBusyTime;
+	private long windowStartCompletedCount;
+	private int windowStartContextSwitchCount;
+
+	public TimeSeriesSampler(int samplingInterval, int sampleCapacity) {
+		this.samplingInterval = samplingInterval;
+		this.endTimes = new long[sampleCapacity];
+		this.windowLengths = new long[sampleCapacity];
+		this.busyTimes = new int[sampleCapacity];
+		this.readyQueueDepths = new int[sampleCapacity];
+		this.jobQueueDepths = new int[sampleCapacity];
+		this.completions = new int[sampleCapacity];
+		this.contextSwitches = new int[sampleCapacity];
+		this.nextSampleTime = samplingInterval;
+	}
+
+	//a dispatcher step that executed the given burst units ended just before currentTime
+	public void record(long currentTime, int executedBurstTime, int readyQueueDepth, int jobQueueDepth, long completedCount, int contextSwitchCount) {
+		windowBusyTime += executedBurstTime;
+		if (currentTime >= nextSampleTime) {
+			sample(currentTime, readyQueueDepth, jobQueueDepth, completedCount, contextSwitchCount);
+		}
+	}
+
+	//close the current window at currentTime, e.g. at the end of a run
+	public void sample(long currentTime, int readyQueueDepth, int jobQueueDepth, long completedCount, int contextSwitchCount) {
+		int slot = (int)(sampleCount % endTimes.length);
+		endTimes[slot] = currentTime;
+		windowLengths[slot] = currentTime - windowStartTime;
+		busyTimes[slot] = windowBusyTime;
+		readyQueueDepths[slot] = readyQueueDepth;
+		jobQueueDepths[slot] = jobQueueDepth;
+		completions[slot] = (int)(completedCount - windowStartCompletedCount);
+		contextSwitches[slot] = contextSwitchCount - windowStartContextSwitchCount;
+		sampleCount++;
+		nextSampleTime = (currentTime / samplingInterval + 1) * samplingInterval;
+		windowStartTime = currentTime;
+		windowBusyTime = 0;
+		windowStartCompletedCount = completedCount;
+		windowStartContextSwitchCount = contextSwitchCount;
+	}
+
+	public int getSamplingInterval() {
+		return samplingInterval;
+	}
+
+	//samples in the ring
+	public int getSize() {
+		return (int)Math.min(sampleCount, endTimes.length);
+	}
+
+	public long getSampleCount() {
+		return sampleCount;
+	}
+
+	//time the window was closed
+	public long getEndTime(int sample) {
+		return endTimes[slot(sample)];
+	}
+
+	public long getWindowLength(int sample) {
+		return windowLengths[slot(sample)];
+	}
+
+	public int getBusyTime(int sample) {
+		return busyTimes[slot(sample)];
+	}
+
+	public int getReadyQueueDepth(int sample) {
+		return readyQueueDepths[slot(sample)];
+	}
+
+	public int getJobQueueDepth(int sample) {
+		return jobQueueDepths[slot(sample)];
+	}
+
+	public int getCompletions(int sample) {
+		return completions[slot(sample)];
+	}
+
+	public int getContextSwitches(int sample) {
+		return contextSwitches[slot(sample)];
+	}
+
+	//ring slot of the given sample, 0 being the oldest one kept
+	private int slot(int sample) {
+		return (int)((sampleCount - getSize() + sample) % endTimes.length);
+	}
+
+	public void export(String path) throws IOException {
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path), 1 << 16))) {
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			output.writeInt(samplingInterval);
+			output.writeInt(getSize());
+			for (int sample = 0; sample < getSize(); sample++) {
+				int slot = slot(sample);
+				output.writeLong(endTimes[slot]);
+				output.writeLong(windowLengths[slot]);
+				output.writeInt(busyTimes[slot]);
+				output.writeInt(readyQueueDepths[slot]);
+				output.writeInt(jobQueueDepths[slot]);
+				output.writeInt(completions[slot]);
+				output.writeInt(contextSwitches[slot]);
+			}
+		}
+	}
+
+	public void writeCheckpoint(DataOutput output) throws IOException {
+		output.writeLong(sampleCount);
+		output.writeLong(nextSampleTime);
+		output.writeLong(windowStartTime);
+		output.writeInt(windowBusyTime);
+		output.writeLong(windowStartCompletedCount);
+		output.writeInt(windowStartContextSwitchCount);
+		output.writeInt(getSize());
+		for (int sample = 0; sample < getSize(); sample++) {
+			int slot = slot(sample);
+			output.writeLong(endTimes[slot]);
+			output.writeLong(windowLengths[slot]);
+			output.writeInt(busyTimes[slot]);
+			output.writeInt(readyQueueDepths[slot]);
+			output.writeInt(jobQueueDepths[slot]);
+			output.writeInt(completions[slot]);
+			output.writeInt(contextSwitches[slot]);
+		}
+	}
+
+	//the samples are put back into the same slots, so the ring may be restored into one of the same capacity only
+	public void readCheckpoint(DataInput input) throws IOException {
+		sampleCount = input.readLong();
+		nextSampleTime = input.readLong();
+		windowStartTime = input.readLong();
+		windowBusyTime = input.readInt();
+		windowStartCompletedCount = input.readLong();
+		windowStartContextSwitchCount = input.readInt();
+		int size = input.readInt();
+		if (size != getSize()) {
+			throw new IOException("Time series of " + size + " samples does not fit a ring of " + endTimes.length);
+		}
+		for (int sample = 0; sample < size; sample++) {
+			int slot = slot(sample);
+			endTimes[slot] = input.readLong();
+			windowLengths[slot] = input.readLong();
+			busyTimes[slot] = input.readInt();
+			readyQueueDepths[slot] = input.readInt();
+			jobQueueDepths[slot] = input.readInt();
+			completions[slot] = input.readInt();
+			contextSwitches[slot] = input.readInt();
+		}
+	}
+
+	//print an exported time series as CSV
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			System.err.println("Usage: java TimeSeriesSampler timeSeriesFile");
+			System.exit(1);
+		}
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(args[0]), 1 << 16))) {
+			if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+				throw new IOException("Not a time series: " + args[0]);
+			}
+			input.readInt(); //sampling interval
+			int size = input.readInt();
+			System.out.println("time,window,busy,utilization,readyQueueDepth,jobQueueDepth,completions,contextSwitches");
+			for (int sample = 0; sample < size; sample++) {
+				long endTime = input.readLong();
+				long windowLength = input.readLong();
+				int busyTime = input.readInt();
+				float utilization = windowLength > 0 ? (float)busyTime / (float)windowLength : 0;
+				System.out.println(endTime + "," + windowLength + "," + busyTime + "," + (float)Math.round(utilization * 100.0) / 100.0 + ","
+					+ input.readInt() + "," + input.readInt() + "," + input.readInt() + "," + input.readInt());
+			}
+		}
+	}
+}
@@ -0,0 +1,26 @@
+import java.util.Random;
+
+//Every value from min to max equally likely; uniform:1:maxBurstTime is the default burst distribution
+public class UniformDistribution implements Distribution {
+
+	private int min;
+	private int range;
+
+	public UniformDistribution(int min, int max) {
+		if (max < min) {
+			throw new IllegalArgumentException("Empty range " + min + ".." + max);
+		}
+		this.min = min;
+		this.range = max - min + 1;
+	}
+
+	@Override
+	public int sample(Random random) {
+		return min + random.nextInt(range);
+	}
+
+	@Override
+	public String toString() {
+		return "uniform:" + min + ":" + (min + range - 1);
+	}
+}
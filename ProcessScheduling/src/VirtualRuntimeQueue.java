@@ -0,0 +1,112 @@
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.TreeSet;
+
+//Runnable processes of the completely fair scheduler in a red-black tree ordered by virtual runtime,
+//ties broken by pid, so insert, pick-next and remove are all O(log n). The virtual runtime of a queued
+//process must not change; the scheduler only charges the running process, which is not queued.
+public class VirtualRuntimeQueue extends AbstractQueue<ProcessControlBlock> {
+
+	//load weight of priority 1 to 20, as the Linux weights of nice 0 to 19; lower priority values weigh more
+	private static final int[] WEIGHTS = {1024, 820, 655, 526, 423, 335, 272, 215, 172, 137, 110, 87, 70, 56, 45, 36, 29, 23, 18, 15};
+	private TreeSet<ProcessControlBlock> tree;
+	private long totalWeight; //sum of the weights of the queued processes
+	private long minVirtualRuntime; //never decreases; processes are queued no further behind than this
+
+	public VirtualRuntimeQueue() {
+		this.tree = new TreeSet<ProcessControlBlock>(new ProcessVirtualRuntimeComparator());
+		this.totalWeight = 0;
+		this.minVirtualRuntime = 0;
+	}
+
+	public static int getWeight(int priority) {
+		return WEIGHTS[Math.min(Math.max(priority - 1, 0), WEIGHTS.length - 1)];
+	}
+
+	//virtual runtime charged for running the given time at the given weight, in 1/1024 time units
+	public static long getVirtualRuntime(int runtime, int weight) {
+		return ((long)runtime << 20) / weight;
+	}
+
+	@Override
+	public boolean offer(ProcessControlBlock processControlBlock) {
+		//a new or migrated process starts at the minimum so it can not monopolize the processor
+		if (processControlBlock.getVirtualRuntime() < minVirtualRuntime) {
+			processControlBlock.setVirtualRuntime(minVirtualRuntime);
+		}
+		if (!tree.add(processControlBlock)) {
+			return false;
+		}
+		totalWeight += getWeight(processControlBlock.getPriority());
+		return true;
+	}
+
+	@Override
+	public ProcessControlBlock poll() {
+		ProcessControlBlock processControlBlock = tree.pollFirst();
+		if (processControlBlock != null) {
+			removed(processControlBlock);
+		}
+		return processControlBlock;
+	}
+
+	@Override
+	public ProcessControlBlock peek() {
+		return tree.isEmpty() ? null : tree.first();
+	}
+
+	@Override
+	public boolean remove(Object object) {
+		if (!tree.remove(object)) {
+			return false;
+		}
+		removed((ProcessControlBlock)object);
+		return true;
+	}
+
+	@Override
+	public int size() {
+		return tree.size();
+	}
+
+	@Override
+	public void clear() {
+		tree.clear();
+		totalWeight = 0;
+	}
+
+	@Override
+	public Iterator<ProcessControlBlock> iterator() {
+		//read only, removing through the iterator would leave the total weight behind
+		final Iterator<ProcessControlBlock> iterator = tree.iterator();
+		return new Iterator<ProcessControlBlock>() {
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public ProcessControlBlock next() {
+				return iterator.next();
+			}
+		};
+	}
+
+	public long getTotalWeight() {
+		return totalWeight;
+	}
+
+	public long getMinVirtualRuntime() {
+		return minVirtualRuntime;
+	}
+
+	void setMinVirtualRuntime(long minVirtualRuntime) {
+		this.minVirtualRuntime = minVirtualRuntime;
+	}
+
+	private void removed(ProcessControlBlock processControlBlock) {
+		totalWeight -= getWeight(processControlBlock.getPriority());
+		//the scheduler only removes the leftmost process, which holds the minimum
+		minVirtualRuntime = Math.max(minVirtualRuntime, processControlBlock.getVirtualRuntime());
+	}
+}
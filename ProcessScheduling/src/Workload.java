@@ -0,0 +1,129 @@
+import java.io.IOException;
+import java.util.Random;
+
+//Immutable workload of consecutive pids held in primitive arrays, generated once and read by any
+//number of schedulers without copying, so every algorithm is compared on exactly the same processes.
+//By default processes arrive in batches of the job queue capacity, and the next batch may arrive once a
+//single processor could have worked off the previous one. With an arrival distribution every process
+//arrives on its own, the distribution giving the gap to the one before.
+public class Workload {
+
+	public static final Workload EMPTY = new Workload(1, new long[0], new int[0], new int[0], 0);
+	private final int firstPID;
+	private final int[] pids; //null when the pids are consecutive from firstPID
+	private final long[] arrivalTimes;
+	private final int[] burstTimes;
+	private final int[] priorities;
+	private final long endTime; //earliest arrival time of a batch following this workload
+
+	Workload(int firstPID, long[] arrivalTimes, int[] burstTimes, int[] priorities, long endTime) {
+		this(firstPID, null, arrivalTimes, burstTimes, priorities, endTime);
+	}
+
+	//the arrays are taken over, not copied, and must not be changed afterwards
+	Workload(int firstPID, int[] pids, long[] arrivalTimes, int[] burstTimes, int[] priorities, long endTime) {
+		this.firstPID = firstPID;
+		this.pids = pids;
+		this.arrivalTimes = arrivalTimes;
+		this.burstTimes = burstTimes;
+		this.priorities = priorities;
+		this.endTime = endTime;
+	}
+
+	//a workload trace whose records are in arrival order, e.g. one shard of a larger workload
+	public static Workload load(String tracePath) throws IOException {
+		try (WorkloadTrace workloadTrace = new WorkloadTrace(tracePath)) {
+			int size = (int)workloadTrace.getRecordCount();
+			int[] pids = new int[size];
+			long[] arrivalTimes = new long[size];
+			int[] burstTimes = new int[size];
+			int[] priorities = new int[size];
+			long[] record = new long[4];
+			for (int i = 0; i < size; i++) {
+				workloadTrace.next(record);
+				pids[i] = (int)record[0];
+				arrivalTimes[i] = record[1];
+				burstTimes[i] = (int)record[2];
+				priorities[i] = (int)record[3];
+			}
+			return new Workload(size > 0 ? pids[0] : 1, pids, arrivalTimes, burstTimes, priorities, size > 0 ? arrivalTimes[size - 1] + 1 : 0);
+		}
+	}
+
+	//the whole workload of a bounded simulation
+	public static Workload generate(SimulationConfiguration simulationConfiguration) {
+		if (simulationConfiguration.getMaxProcess() < 0) {
+			throw new IllegalArgumentException("An unbounded workload can not be generated up front");
+		}
+		return generate(new WorkloadRandom(simulationConfiguration.getRandomSeed()), 1, 0, simulationConfiguration.getMaxProcess(), simulationConfiguration);
+	}
+
+	//the next numberOfProcesses processes, starting at the given pid and time, drawn from random
+	public static Workload generate(Random random, int firstPID, long startTime, int numberOfProcesses, SimulationConfiguration simulationConfiguration) {
+		long[] arrivalTimes = new long[numberOfProcesses];
+		int[] burstTimes = new int[numberOfProcesses];
+		int[] priorities = new int[numberOfProcesses];
+		Distribution burstDistribution = simulationConfiguration.getBurstDistribution();
+		if (burstDistribution == null) {
+			burstDistribution = new UniformDistribution(1, simulationConfiguration.getMaxBurstTime());
+		}
+		int maxPriority = simulationConfiguration.getMaxPriority();
+		Distribution arrivalDistribution = simulationConfiguration.getArrivalDistribution();
+		long time = startTime;
+		if (arrivalDistribution != null) {
+			for (int i = 0; i < numberOfProcesses; i++) {
+				time += arrivalDistribution.sample(random);
+				arrivalTimes[i] = time;
+				burstTimes[i] = burstDistribution.sample(random);
+				priorities[i] = 1 + random.nextInt(maxPriority);
+			}
+			//the next process may arrive together with the last one
+			return new Workload(firstPID, arrivalTimes, burstTimes, priorities, time);
+		}
+		int batchSize = simulationConfiguration.getJobQueueCapacity();
+		int i = 0;
+		while (i < numberOfProcesses) {
+			//simulate random process generation
+			if (batchSize < 2 || random.nextInt(batchSize) > 0) {
+				int batchEnd = Math.min(i + batchSize, numberOfProcesses);
+				long batchTime = time;
+				for (; i < batchEnd; i++) {
+					arrivalTimes[i] = batchTime;
+					burstTimes[i] = burstDistribution.sample(random);
+					priorities[i] = 1 + random.nextInt(maxPriority);
+					time += burstTimes[i];
+				}
+			}
+			time++;
+		}
+		return new Workload(firstPID, arrivalTimes, burstTimes, priorities, time);
+	}
+
+	public int getSize() {
+		return arrivalTimes.length;
+	}
+
+	public int getFirstPID() {
+		return firstPID;
+	}
+
+	public long getEndTime() {
+		return endTime;
+	}
+
+	public int getPID(int i) {
+		return pids != null ? pids[i] : firstPID + i;
+	}
+
+	public long getArrivalTime(int i) {
+		return arrivalTimes[i];
+	}
+
+	public int getBurstTime(int i) {
+		return burstTimes[i];
+	}
+
+	public int getPriority(int i) {
+		return priorities[i];
+	}
+}
@@ -0,0 +1,53 @@
+import java.util.Random;
+
+//java.util.Random without the atomic seed, for the generator thread only: the same linear congruential
+//generator and the same Gaussian algorithm, so it draws exactly the sequence Random would for the same
+//seed, without a compare-and-set per draw or a lock per Gaussian.
+public class WorkloadRandom extends Random {
+
+	private static final long serialVersionUID = 1L;
+	private static final long MULTIPLIER = 0x5DEECE66DL;
+	private static final long ADDEND = 0xBL;
+	private static final long MASK = (1L << 48) - 1;
+	private long state; //set by setSeed, which the Random constructor calls before any initializer of this class runs
+	private double nextNextGaussian;
+	private boolean haveNextNextGaussian;
+
+	public WorkloadRandom(long seed) {
+		super(seed);
+	}
+
+	@Override
+	public void setSeed(long seed) {
+		super.setSeed(seed);
+		state = (seed ^ MULTIPLIER) & MASK;
+		haveNextNextGaussian = false;
+	}
+
+	@Override
+	protected int next(int bits) {
+		state = (state * MULTIPLIER + ADDEND) & MASK;
+		return (int)(state >>> (48 - bits));
+	}
+
+	//the polar method as specified by Random.nextGaussian
+	@Override
+	public double nextGaussian() {
+		if (haveNextNextGaussian) {
+			haveNextNextGaussian = false;
+			return nextNextGaussian;
+		}
+		double v1;
+		double v2;
+		double s;
+		do {
+			v1 = 2 * nextDouble() - 1;
+			v2 = 2 * nextDouble() - 1;
+			s = v1 * v1 + v2 * v2;
+		} while (s >= 1 || s == 0);
+		double multiplier = StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+		nextNextGaussian = v2 * multiplier;
+		haveNextNextGaussian = true;
+		return v1 * multiplier;
+	}
+}
@@ -0,0 +1,163 @@
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+//Compact binary workload trace replayed through a memory-mapped file.
+//Layout: magic and version header, then fixed size records of pid, arrival time, burst time
+//and priority, big-endian, the arrival time as a long and the others as ints, in arrival order. Records are mapped one window at a
+//time, so a trace of any length is streamed without loading it onto the heap.
+public class WorkloadTrace implements Closeable {
+
+	public static final int MAGIC = 0x50435452; //PCTR
+	public static final int VERSION = 2;
+	public static final int HEADER_SIZE = 8;
+	public static final int RECORD_SIZE = 20;
+	private static final long WINDOW_SIZE = RECORD_SIZE * (4L << 20); //4M records per mapping
+
+	private RandomAccessFile file;
+	private FileChannel fileChannel;
+	private MappedByteBuffer window;
+	private long windowPosition; //file offset of the current window
+	private long position; //file offset of the next record
+	private long size;
+
+	public WorkloadTrace(String path) throws IOException {
+		this.file = new RandomAccessFile(path, "r");
+		this.fileChannel = file.getChannel();
+		this.size = fileChannel.size();
+		if (size < HEADER_SIZE || (size - HEADER_SIZE) % RECORD_SIZE != 0) {
+			close();
+			throw new IOException("Not a workload trace: " + path);
+		}
+		MappedByteBuffer header = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+		if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+			close();
+			throw new IOException("Unsupported workload trace: " + path);
+		}
+		this.position = HEADER_SIZE;
+		this.windowPosition = HEADER_SIZE;
+	}
+
+	public long getRecordCount() {
+		return (size - HEADER_SIZE) / RECORD_SIZE;
+	}
+
+	//file offset of the next record
+	public long getPosition() {
+		return position;
+	}
+	
+	//continue with the record at the given file offset
+	public void seek(long position) throws IOException {
+		if (position < HEADER_SIZE || position > size || (position - HEADER_SIZE) % RECORD_SIZE != 0) {
+			throw new IOException("Not a record position: " + position);
+		}
+		this.position = position;
+		this.window = null;
+	}
+	
+	public boolean hasNext() {
+		return position < size;
+	}
+
+	//read pid, arrival time, burst time and priority of the next record into the given array
+	public void next(long[] record) throws IOException {
+		int offset = nextOffset();
+		record[0] = window.getInt(offset);
+		record[1] = window.getLong(offset + 4);
+		record[2] = window.getInt(offset + 12);
+		record[3] = window.getInt(offset + 16);
+	}
+	
+	//arrival time of the next record, without moving past it
+	public long peekArrivalTime() throws IOException {
+		int offset = recordOffset();
+		return window.getLong(offset + 4);
+	}
+	
+	//offset of the next record in the window, moving past it
+	private int nextOffset() throws IOException {
+		int offset = recordOffset();
+		position += RECORD_SIZE;
+		return offset;
+	}
+	
+	//offset of the next record in the window, mapping the window that holds it
+	private int recordOffset() throws IOException {
+		if (window == null || position >= windowPosition + window.capacity()) {
+			windowPosition = position;
+			window = fileChannel.map(FileChannel.MapMode.READ_ONLY, windowPosition, Math.min(WINDOW_SIZE, size - windowPosition));
+		}
+		return (int)(position - windowPosition);
+	}
+
+	@Override
+	public void close() throws IOException {
+		window = null;
+		file.close();
+	}
+
+	//new trace file with its header written, ready for writeRecord
+	public static DataOutputStream create(String tracePath) throws IOException {
+		DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tracePath), 1 << 16));
+		output.writeInt(MAGIC);
+		output.writeInt(VERSION);
+		return output;
+	}
+	
+	public static void writeRecord(DataOutput output, int pid, long arrivalTime, int burstTime, int priority) throws IOException {
+		output.writeInt(pid);
+		output.writeLong(arrivalTime);
+		output.writeInt(burstTime);
+		output.writeInt(priority);
+	}
+	
+	//convert a pid,arrival,burst,priority CSV file into a binary trace; blank, comment and header lines are skipped.
+	//The rows must be in arrival order, as the processes are released when their arrival time is reached
+	public static long convert(String csvPath, String tracePath) throws IOException {
+		long recordCount = 0;
+		long previousArrivalTime = Long.MIN_VALUE;
+		try (BufferedReader reader = new BufferedReader(new FileReader(csvPath));
+				DataOutputStream output = create(tracePath)) {
+			String line;
+			int lineNumber = 0;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#") || !Character.isDigit(line.charAt(0))) {
+					continue;
+				}
+				String[] fields = line.split(",");
+				if (fields.length < 4) {
+					throw new IOException(csvPath + ":" + lineNumber + ": expected pid,arrival,burst,priority");
+				}
+				long arrivalTime = Long.parseLong(fields[1].trim());
+				if (arrivalTime < previousArrivalTime) {
+					throw new IOException(csvPath + ":" + lineNumber + ": arrival time " + arrivalTime + " is before the previous row's " + previousArrivalTime);
+				}
+				previousArrivalTime = arrivalTime;
+				writeRecord(output, Integer.parseInt(fields[0].trim()), arrivalTime, Integer.parseInt(fields[2].trim()), Integer.parseInt(fields[3].trim()));
+				recordCount++;
+			}
+		}
+		return recordCount;
+	}
+
+	//Usage: java WorkloadTrace input.csv output.trace
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.err.println("Usage: java WorkloadTrace input.csv output.trace");
+			System.exit(1);
+		}
+		long recordCount = convert(args[0], args[1]);
+		System.out.println("Wrote " + recordCount + " processes to " + args[1]);
+	}
+}
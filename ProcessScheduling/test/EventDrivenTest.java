@@ -0,0 +1,67 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+//Jumping SRTF and priority to completion must not change the schedule: every run is compared with the
+//same trace advanced one tick per dispatch. The traces have processes arriving while others run, and on
+//several cores, cores that complete a burst early while their siblings still hold ready processes.
+public class EventDrivenTest {
+
+	//pid, arrival time, burst time and priority
+	private static final String ARRIVALS = "1,0,10,5\n2,3,1,1\n3,4,2,2\n4,4,3,4\n5,9,6,3\n6,12,2,1\n";
+	private static final String STEALS = "1,0,3,1\n2,1,1,2\n3,1,1,2\n4,1,2,5\n5,1,6,4\n6,2,5,2\n7,2,6,1\n8,3,4,3\n9,3,6,1\n";
+
+	@TempDir
+	Path directory;
+
+	@Test
+	public void shortestRemainingTimeFirstMatchesTicks() throws IOException {
+		assertMatchesTicks(SchedulerTypeEnum.SHORTEST_REMAINING_TIME_FIRST, 1, ARRIVALS);
+	}
+
+	@Test
+	public void priorityMatchesTicks() throws IOException {
+		assertMatchesTicks(SchedulerTypeEnum.PRIORITY, 1, ARRIVALS);
+	}
+
+	@Test
+	public void multiCoreShortestRemainingTimeFirstMatchesTicks() throws IOException {
+		assertMatchesTicks(SchedulerTypeEnum.SHORTEST_REMAINING_TIME_FIRST, 2, ARRIVALS);
+		assertMatchesTicks(SchedulerTypeEnum.SHORTEST_REMAINING_TIME_FIRST, 3, STEALS);
+	}
+
+	@Test
+	public void multiCorePriorityMatchesTicks() throws IOException {
+		assertMatchesTicks(SchedulerTypeEnum.PRIORITY, 2, ARRIVALS);
+		assertMatchesTicks(SchedulerTypeEnum.PRIORITY, 3, STEALS);
+	}
+
+	private void assertMatchesTicks(SchedulerTypeEnum schedulerTypeEnum, int numberOfCores, String arrivals) throws IOException {
+		Path csv = Files.write(directory.resolve("arrivals.csv"), arrivals.getBytes());
+		Path trace = directory.resolve("arrivals.trace");
+		WorkloadTrace.convert(csv.toString(), trace.toString());
+		Scheduling ticks = run(schedulerTypeEnum, numberOfCores, trace, false);
+		Scheduling events = run(schedulerTypeEnum, numberOfCores, trace, true);
+		assertEquals(arrivals.split("\n").length, events.getAccountingInformation().getProcessCount());
+		assertEquals(ticks.getContextSwitchCount(), events.getContextSwitchCount());
+		assertEquals(ticks.getCurrentTime(), events.getCurrentTime());
+		assertEquals(ticks.getAccountingInformation().getTotalResponseTime(), events.getAccountingInformation().getTotalResponseTime());
+		assertEquals(ticks.getAccountingInformation().getTotalWaitTime(), events.getAccountingInformation().getTotalWaitTime());
+		assertEquals(ticks.getAccountingInformation().getTotalTurnAroundTime(), events.getAccountingInformation().getTotalTurnAroundTime());
+	}
+
+	private Scheduling run(SchedulerTypeEnum schedulerTypeEnum, int numberOfCores, Path trace, boolean eventDriven) {
+		SimulationConfiguration simulationConfiguration = new SimulationConfiguration();
+		simulationConfiguration.setTraceFile(trace.toString());
+		simulationConfiguration.setNumberOfCores(numberOfCores);
+		simulationConfiguration.setEventDriven(eventDriven);
+		Scheduling scheduling = Scheduling.createScheduling(schedulerTypeEnum, new DiscardingMetrics(), 0, simulationConfiguration);
+		scheduling.run();
+		return scheduling;
+	}
+}
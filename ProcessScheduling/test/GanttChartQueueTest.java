@@ -0,0 +1,55 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+//A process that keeps the CPU across quanta reports each quantum from its original burst start time;
+//the slices overlap and must come out as one.
+public class GanttChartQueueTest {
+
+	@Test
+	public void overlappingSlicesOfOneProcessMerge() {
+		GanttChartQueue ganttChartQueue = new GanttChartQueue();
+		ganttChartQueue.record(1, 0, 2);
+		ganttChartQueue.record(1, 0, 5);
+		ganttChartQueue.record(1, 0, 8);
+		ganttChartQueue.record(1, 0, 9);
+		assertSingleSlice(ganttChartQueue, 1, 0, 9);
+	}
+
+	@Test
+	public void slicesOfDifferentProcessesStaySeparate() {
+		GanttChartQueue ganttChartQueue = new GanttChartQueue();
+		ganttChartQueue.record(1, 0, 2);
+		ganttChartQueue.record(2, 3, 5);
+		ganttChartQueue.record(1, 0, 8);
+		assertEquals(3, ganttChartQueue.getSize());
+		assertEquals(8, ganttChartQueue.getBurstEndTime(2));
+	}
+
+	@Test
+	public void roundRobinRecordsOneSliceForOneProcess() {
+		assertSingleSlice(run(SchedulerTypeEnum.ROUND_ROBIN).ganttChartQueue, 1, 0, 9);
+	}
+
+	@Test
+	public void multilevelFeedbackQueueRecordsOneSliceForOneProcess() {
+		assertSingleSlice(run(SchedulerTypeEnum.MULTILEVEL_FEEDBACK_QUEUE).ganttChartQueue, 1, 0, 9);
+	}
+
+	//a single process with a burst of 10, three quanta and a bit
+	private static Scheduling run(SchedulerTypeEnum schedulerTypeEnum) {
+		SimulationConfiguration simulationConfiguration = new SimulationConfiguration();
+		simulationConfiguration.setRetireTerminatedProcesses(false);
+		simulationConfiguration.setWorkload(new Workload(1, new long[] {0}, new int[] {10}, new int[] {1}, 0));
+		Scheduling scheduling = Scheduling.createScheduling(schedulerTypeEnum, new DiscardingMetrics(), 0, simulationConfiguration);
+		scheduling.run();
+		return scheduling;
+	}
+
+	private static void assertSingleSlice(GanttChartQueue ganttChartQueue, int pid, long burstStartTime, long burstEndTime) {
+		assertEquals(1, ganttChartQueue.getSize());
+		assertEquals(pid, ganttChartQueue.getPID(0));
+		assertEquals(burstStartTime, ganttChartQueue.getBurstStartTime(0));
+		assertEquals(burstEndTime, ganttChartQueue.getBurstEndTime(0));
+	}
+}
@@ -0,0 +1,31 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+//An interrupted scheduler must not lose a report without a trace.
+public class ReportBufferTest {
+
+	@Test
+	public void flushPublishesTheReport() throws InterruptedException {
+		ReportBuffer reportBuffer = new ReportBuffer();
+		reportBuffer.print("Current Time: 1");
+		reportBuffer.flush();
+		assertEquals("Current Time: 1", reportBuffer.take());
+	}
+
+	@Test
+	public void interruptedFlushFailsAndKeepsTheInterrupt() {
+		ReportBuffer reportBuffer = new ReportBuffer();
+		reportBuffer.print("Current Time: 1");
+		Thread.currentThread().interrupt();
+		try {
+			assertThrows(IllegalStateException.class, reportBuffer::flush);
+			assertTrue(Thread.currentThread().isInterrupted());
+		}
+		finally {
+			Thread.interrupted();
+		}
+	}
+}